@@ -0,0 +1,88 @@
+package com.example.assignment.config;
+
+import com.example.assignment.exception.PasswordHashingOverloadedException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs every hash and verification of the wrapped encoder on a small, bounded executor.
+ * At most a fixed number of BCrypt computations burn CPU at once; when the queue in front of them
+ * is full the caller fails fast with {@link PasswordHashingOverloadedException} (served as 503)
+ * instead of piling up request threads behind a login storm.
+ * Verifications are reported to Java Flight Recorder as {@link PasswordCheckEvent} while a recording runs.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ExecutorService executor;
+    private final Duration timeout;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, ExecutorService executor, Duration timeout) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        PasswordCheckEvent event = new PasswordCheckEvent();
+        if (!event.isEnabled()) {
+            return run(() -> delegate.matches(rawPassword, encodedPassword));
+        }
+        event.begin();
+        long submitted = System.nanoTime();
+        try {
+            // Written on the hashing thread, read here after Future.get()
+            event.matched = run(() -> {
+                event.queued = System.nanoTime() - submitted;
+                return delegate.matches(rawPassword, encodedPassword);
+            });
+            return event.matched;
+        } finally {
+            event.commit();
+        }
+    }
+
+    // Cheap string inspection, no hashing involved
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException ex) {
+            throw new PasswordHashingOverloadedException("Too many concurrent password checks, retry shortly");
+        }
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            throw new PasswordHashingOverloadedException("Password check timed out in the hashing queue");
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingOverloadedException("Interrupted while waiting for a password check");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.assignment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Sizing of the Hibernate second-level cache regions, keyed by region name.
+ * A region without a ttl never expires entries (required for the update timestamps region).
+ */
+@ConfigurationProperties(prefix = "app.cache")
+public record CacheRegionProperties(Map<String, Region> regions) {
+
+    public CacheRegionProperties {
+        regions = regions == null ? Map.of() : regions;
+    }
+
+    public record Region(long maxSize, Duration ttl) {
+    }
+}
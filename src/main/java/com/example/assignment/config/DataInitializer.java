@@ -7,6 +7,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.function.Consumer;
+
 @Configuration
 public class DataInitializer {
 
@@ -60,6 +62,7 @@ public class DataInitializer {
                 student.setStudentId("2107081");
                 student.setDepartment(dept);
                 studentRepository.save(student);
+                linkUser(userRepository, "student1", user -> user.setStudent(student));
 
                 System.out.println("Created sample student");
             }
@@ -73,6 +76,7 @@ public class DataInitializer {
                 teacher.setEmail("smith@example.com");
                 teacher.setDepartment(dept);
                 teacherRepository.save(teacher);
+                linkUser(userRepository, "teacher1", user -> user.setTeacher(teacher));
 
                 System.out.println("Created sample teacher");
             }
@@ -87,4 +91,11 @@ public class DataInitializer {
             System.out.println("========================================\n");
         };
     }
+
+    private static void linkUser(UserRepository userRepository, String username, Consumer<User> link) {
+        userRepository.findByUsername(username).ifPresent(user -> {
+            link.accept(user);
+            userRepository.save(user);
+        });
+    }
 }
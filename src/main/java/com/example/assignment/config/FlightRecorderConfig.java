@@ -0,0 +1,45 @@
+package com.example.assignment.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Custom Java Flight Recorder events for requests, transactional service methods, SQL statements and
+ * password checks, so a recording shows where a slow request spent its time. Each event checks first whether
+ * a recording is running and costs next to nothing otherwise. Recordings are started and downloaded through
+ * /api/admin/recording.
+ */
+@Configuration
+public class FlightRecorderConfig {
+
+    @Bean
+    public FilterRegistrationBean<FlightRecorderRequestFilter> flightRecorderRequestFilter() {
+        FilterRegistrationBean<FlightRecorderRequestFilter> registration =
+                new FilterRegistrationBean<>(new FlightRecorderRequestFilter());
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1); // outside Spring Security
+        return registration;
+    }
+
+    @Bean
+    public TransactionEventAspect transactionEventAspect() {
+        return new TransactionEventAspect();
+    }
+
+    // Static, so the post-processor exists before the data source is created
+    @Bean
+    public static BeanPostProcessor sqlEventDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof SqlEventDataSource)
+                        ? new SqlEventDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.assignment.config;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.assignment.HttpRequest")
+@Label("HTTP Request")
+@Category({"Assignment", "HTTP"})
+@Description("An HTTP request, from before authentication until the response is written")
+class HttpRequestEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("URI Template")
+    String uri;
+
+    @Label("Path")
+    String path;
+
+    @Label("Status")
+    int status;
+}
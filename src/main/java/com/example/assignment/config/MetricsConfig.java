@@ -0,0 +1,104 @@
+package com.example.assignment.config;
+
+import com.example.assignment.controller.ResponseCache;
+import com.example.assignment.dto.CacheRegionStats;
+import com.example.assignment.dto.WaitlistStatistics;
+import com.example.assignment.service.UserDetailsCache;
+import com.example.assignment.service.WaitlistPromoter;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Application metrics on top of what Actuator binds by itself (HTTP server requests, Hikari pool, JVM) and
+ * what hibernate-micrometer binds from Hibernate's statistics (queries, entity loads, second-level cache).
+ * Everything is scraped from /actuator/prometheus on the management port.
+ *
+ * Added here: SQL statements per request, timers on the service classes annotated with {@code @Timed},
+ * and the counters the application already kept for the response cache, the user details cache and
+ * waitlist promotion.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer(SqlStatementCounter sqlStatementCounter) {
+        return hibernateProperties ->
+                hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementCounter);
+    }
+
+    @Bean
+    public RequestMetricsFilter requestMetricsFilter(SqlStatementCounter sqlStatementCounter,
+                                                     MeterRegistry meterRegistry) {
+        return new RequestMetricsFilter(sqlStatementCounter, meterRegistry);
+    }
+
+    // Same names and tags as Micrometer's own cache binders
+    @Bean
+    public MeterBinder applicationCacheMetrics(ResponseCache responseCache, UserDetailsCache userDetailsCache) {
+        return registry -> {
+            bindCache(registry, "responses", responseCache, ResponseCache::getStatistics);
+            bindCache(registry, "user-details", userDetailsCache, UserDetailsCache::getStatistics);
+        };
+    }
+
+    @Bean
+    public MeterBinder waitlistMetrics(WaitlistPromoter waitlistPromoter) {
+        // app.waitlist.lag, a timer per promoted entry, is recorded by the promoter itself
+        return registry -> {
+            Gauge.builder("app.waitlist.pending", waitlistPromoter, WaitlistPromoter::getPendingAtLastSweep)
+                    .description("Entries waiting for a seat, as of the last sweep")
+                    .register(registry);
+            counter(registry, waitlistPromoter, "app.waitlist.promoted", "Students enrolled from the waitlist",
+                    WaitlistStatistics::promoted);
+            counter(registry, waitlistPromoter, "app.waitlist.batches", "Promotion batches committed",
+                    WaitlistStatistics::batches);
+            counter(registry, waitlistPromoter, "app.waitlist.skipped.locked",
+                    "Promotion batches skipped because another transaction held the course",
+                    WaitlistStatistics::skippedLocked);
+        };
+    }
+
+    // Meters hold their source weakly, so they are built on the long-lived bean itself, not on a lambda
+    private static <T> void bindCache(MeterRegistry registry, String cache, T source,
+                                      Function<T, CacheRegionStats> statistics) {
+        FunctionCounter.builder("cache.gets", source, s -> statistics.apply(s).hits())
+                .tags("cache", cache, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", source, s -> statistics.apply(s).misses())
+                .tags("cache", cache, "result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.puts", source, s -> statistics.apply(s).puts())
+                .tags("cache", cache)
+                .register(registry);
+        Gauge.builder("cache.size", source, s -> statistics.apply(s).size())
+                .tags("cache", cache)
+                .register(registry);
+    }
+
+    private static void counter(MeterRegistry registry, WaitlistPromoter waitlistPromoter, String name,
+                                String description, ToDoubleFunction<WaitlistStatistics> value) {
+        FunctionCounter.builder(name, waitlistPromoter, p -> value.applyAsDouble(p.getStatistics(0)))
+                .description(description)
+                .register(registry);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.assignment.config;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("com.example.assignment.PasswordCheck")
+@Label("Password Check")
+@Category({"Assignment", "Security"})
+@Description("A password verification, including the wait for a slot on the hashing pool")
+class PasswordCheckEvent extends Event {
+
+    @Label("Queued")
+    @Description("Time spent waiting for a hashing thread")
+    @Timespan(Timespan.NANOSECONDS)
+    long queued;
+
+    @Label("Matched")
+    boolean matched;
+}
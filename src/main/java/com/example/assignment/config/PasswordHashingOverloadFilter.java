@@ -0,0 +1,78 @@
+package com.example.assignment.config;
+
+import com.example.assignment.exception.PasswordHashingOverloadedException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Turns a saturated password-hashing queue into a 503 for form login and Basic auth,
+ * which authenticate inside the filter chain where the controller advice cannot see the exception.
+ *
+ * The overload may also arrive wrapped, as the cause of an authentication failure (an
+ * InternalAuthenticationServiceException, say). Those are answered with the same 503 by the entry point
+ * and failure handler below, so a login for an unknown user is not told apart from one for a known user
+ * by a 401 instead of a 503.
+ */
+public class PasswordHashingOverloadFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } catch (RuntimeException ex) {
+            PasswordHashingOverloadedException overload = overload(ex);
+            if (overload == null || response.isCommitted()) {
+                throw ex;
+            }
+            sendOverloaded(response, overload);
+        }
+    }
+
+    // Basic auth: answers 503 for an overload behind a failed authentication, delegates any other failure
+    public static AuthenticationEntryPoint entryPoint(AuthenticationEntryPoint delegate) {
+        return (request, response, authException) -> {
+            PasswordHashingOverloadedException overload = overload(authException);
+            if (overload == null) {
+                delegate.commence(request, response, authException);
+            } else {
+                sendOverloaded(response, overload);
+            }
+        };
+    }
+
+    // Form login: the same, instead of redirecting back to the login page
+    public static AuthenticationFailureHandler failureHandler(AuthenticationFailureHandler delegate) {
+        return (request, response, exception) -> {
+            PasswordHashingOverloadedException overload = overload(exception);
+            if (overload == null) {
+                delegate.onAuthenticationFailure(request, response, exception);
+            } else {
+                sendOverloaded(response, overload);
+            }
+        };
+    }
+
+    private static PasswordHashingOverloadedException overload(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof PasswordHashingOverloadedException overload) {
+                return overload;
+            }
+        }
+        return null;
+    }
+
+    private static void sendOverloaded(HttpServletResponse response, PasswordHashingOverloadedException ex)
+            throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, ex.getMessage());
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.assignment.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Background work (waitlist promotion) runs on Boot's applicationTaskExecutor for @Async and on its
+ * scheduler for @Scheduled; both switch to virtual threads with spring.threads.virtual.enabled.
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class SchedulingConfig {
+
+    // ChangeTracker publishes table versions one run at a time, so one thread is all it ever uses
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService tableVersionsPublisher() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "table-versions");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -1,17 +1,27 @@
 package com.example.assignment.config;
 
 import com.example.assignment.service.CustomUserDetailsService;
+import com.example.assignment.service.PasswordUpgradeService;
+import com.example.assignment.service.TokenService;
+import com.example.assignment.service.UserDetailsCache;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.authentication.www.BasicAuthenticationEntryPoint;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
@@ -19,22 +29,60 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
+    private final TokenService tokenService;
+    private final UserDetailsCache userDetailsCache;
+    private final PasswordUpgradeService passwordUpgradeService;
 
-    public SecurityConfig(CustomUserDetailsService userDetailsService) {
+    public SecurityConfig(CustomUserDetailsService userDetailsService, TokenService tokenService,
+                          UserDetailsCache userDetailsCache, PasswordUpgradeService passwordUpgradeService) {
         this.userDetailsService = userDetailsService;
+        this.tokenService = tokenService;
+        this.userDetailsCache = userDetailsCache;
+        this.passwordUpgradeService = passwordUpgradeService;
     }
 
+    /**
+     * Actuator endpoints, served on the internal management port. Health checks and Prometheus scrapes need no
+     * login; the other endpoints take Basic auth. A chain of its own, since the path matchers of the main chain
+     * do not resolve in the management server's servlet context.
+     */
     @Bean
+    @Order(1)
+    public SecurityFilterChain managementFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher(EndpointRequest.toAnyEndpoint())
+            .authorizeHttpRequests(authorize -> authorize
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class)).permitAll()
+                .anyRequest().authenticated()
+            )
+            .httpBasic(httpBasic -> {})
+            .csrf(csrf -> csrf.disable());
+
+        return http.build();
+    }
+
+    @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
             .authorizeHttpRequests(authorize -> authorize
                 .requestMatchers("/login", "/css/**", "/js/**", "/images/**", "/error").permitAll()
+                .requestMatchers("/api/auth/token").permitAll()
                 .requestMatchers("/api/**").authenticated()
                 .anyRequest().authenticated() // Require authentication for all other paths including / and /dashboard
             )
-            .httpBasic(httpBasic -> {}) // Enable Basic Authentication for REST APIs (Spring Security 6 style)
+            // Signed bearer tokens are checked first; Basic stays available as a fallback
+            .addFilterBefore(new TokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class)
+            // Wraps form login and Basic auth so a saturated hashing queue answers 503, not 500
+            .addFilterBefore(new PasswordHashingOverloadFilter(), UsernamePasswordAuthenticationFilter.class)
+            // Enable Basic Authentication for REST APIs (Spring Security 6 style)
+            .httpBasic(httpBasic -> httpBasic
+                .authenticationEntryPoint(PasswordHashingOverloadFilter.entryPoint(basicEntryPoint()))
+            )
             .formLogin(form -> form
                 .loginPage("/login")
+                .failureHandler(PasswordHashingOverloadFilter.failureHandler(
+                        new SimpleUrlAuthenticationFailureHandler("/login?error")))
                 .defaultSuccessUrl("/dashboard", true)
                 .permitAll()
             )
@@ -47,11 +95,20 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // What httpBasic() uses when no entry point is given
+    private static BasicAuthenticationEntryPoint basicEntryPoint() {
+        BasicAuthenticationEntryPoint entryPoint = new BasicAuthenticationEntryPoint();
+        entryPoint.setRealmName("Realm");
+        return entryPoint;
+    }
+
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserCache(userDetailsCache); // skips the users lookup for recently authenticated users
+        authProvider.setPasswordEncoder(passwordEncoder); // see PasswordHashingConfig
+        authProvider.setUserDetailsPasswordService(passwordUpgradeService); // re-hashes at the current cost on login
         return authProvider;
     }
 
@@ -59,9 +116,4 @@ public class SecurityConfig {
     public AuthenticationManager authenticationManager(AuthenticationConfiguration authConfig) throws Exception {
         return authConfig.getAuthenticationManager();
     }
-
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
 }
@@ -0,0 +1,204 @@
+package com.example.assignment.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Reports every JDBC execution as a {@link SqlStatementEvent} with its SQL and row count. Only connections
+ * checked out while a recording is running are wrapped; otherwise the pool's connection is handed out as is,
+ * so with no recording the cost is one enabled check per checkout.
+ *
+ * Updates and batches report the rows they changed. A query's event runs until its result set (or statement)
+ * is closed, so it includes fetching and counts the rows actually read.
+ */
+public class SqlEventDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    public SqlEventDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return record(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return record(super.getConnection(username, password));
+    }
+
+    // Keeps the pool's shutdown with the bean, which Spring infers from the wrapper
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static Connection record(Connection connection) {
+        if (!new SqlStatementEvent().isEnabled()) {
+            return connection;
+        }
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement) {
+                String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                return proxy(method.getReturnType(), new StatementHandler(statement, sql));
+            }
+            return result;
+        });
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final String preparedSql;
+        private int batchSize;
+        private SqlStatementEvent query;
+
+        StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "addBatch" -> batchSize++;
+                case "clearBatch" -> batchSize = 0;
+                case "executeQuery" -> {
+                    startQuery(args);
+                    return resultSet((ResultSet) SqlEventDataSource.invoke(statement, method, args));
+                }
+                case "getResultSet" -> {
+                    return resultSet((ResultSet) SqlEventDataSource.invoke(statement, method, args));
+                }
+                case "close" -> finishQuery();
+                case "execute", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch" -> {
+                    return execute(method, args);
+                }
+                default -> {
+                    // passed through
+                }
+            }
+            return SqlEventDataSource.invoke(statement, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            SqlStatementEvent event = new SqlStatementEvent();
+            event.begin();
+            Object result;
+            try {
+                result = SqlEventDataSource.invoke(statement, method, args);
+            } catch (Throwable ex) {
+                commit(event, args, -1);
+                throw ex;
+            }
+            if (Boolean.TRUE.equals(result)) {
+                // execute() produced a result set: treated like a query
+                query = event;
+                query.sql = sql(args);
+                return result;
+            }
+            commit(event, args, rows(result));
+            return result;
+        }
+
+        private void commit(SqlStatementEvent event, Object[] args, long rows) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.sql = sql(args);
+                event.rows = rows;
+                event.batchSize = batchSize;
+                event.commit();
+            }
+            batchSize = 0;
+        }
+
+        private void startQuery(Object[] args) {
+            finishQuery();
+            query = new SqlStatementEvent();
+            query.sql = sql(args);
+            query.begin();
+        }
+
+        private ResultSet resultSet(ResultSet resultSet) {
+            if (resultSet == null || query == null) {
+                return resultSet;
+            }
+            return proxy(ResultSet.class, (proxy, method, args) -> {
+                Object result = SqlEventDataSource.invoke(resultSet, method, args);
+                if (query != null) {
+                    if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                        query.rows++;
+                    } else if (method.getName().equals("close")) {
+                        finishQuery();
+                    }
+                }
+                return result;
+            });
+        }
+
+        private void finishQuery() {
+            if (query != null) {
+                query.commit();
+                query = null;
+            }
+        }
+
+        private String sql(Object[] args) {
+            return args != null && args.length > 0 && args[0] instanceof String sql ? sql : preparedSql;
+        }
+    }
+
+    private static long rows(Object result) {
+        if (result instanceof Number count) {
+            return count.longValue();
+        }
+        if (result instanceof int[] counts) {
+            return sum(counts);
+        }
+        if (result instanceof long[] counts) {
+            return sum(counts);
+        }
+        return -1; // execute() without a result set: getUpdateCount() is the caller's to read
+    }
+
+    private static long sum(int[] counts) {
+        long rows = 0;
+        for (int count : counts) {
+            rows += Math.max(count, 0); // SUCCESS_NO_INFO is negative
+        }
+        return rows;
+    }
+
+    private static long sum(long[] counts) {
+        long rows = 0;
+        for (long count : counts) {
+            rows += Math.max(count, 0);
+        }
+        return rows;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SqlEventDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
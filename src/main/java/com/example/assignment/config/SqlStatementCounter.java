@@ -0,0 +1,35 @@
+package com.example.assignment.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a count is open, so
+ * {@link RequestMetricsFilter} can report statements per request. Registered as Hibernate's statement
+ * inspector; it only counts and passes every statement through unchanged.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private final ThreadLocal<int[]> current = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = current.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    public void start() {
+        current.set(new int[1]);
+    }
+
+    /**
+     * @return the statements prepared since {@link #start()}, 0 if no count was open
+     */
+    public int stop() {
+        int[] count = current.get();
+        current.remove();
+        return count != null ? count[0] : 0;
+    }
+}
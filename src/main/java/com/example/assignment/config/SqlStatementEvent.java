@@ -0,0 +1,24 @@
+package com.example.assignment.config;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.assignment.SqlStatement")
+@Label("SQL Statement")
+@Category({"Assignment", "Database"})
+@Description("A JDBC execution; for a query it lasts until its result set is closed and counts the rows read")
+class SqlStatementEvent extends Event {
+
+    @Label("SQL")
+    String sql;
+
+    @Label("Rows")
+    @Description("Rows read by a query, or rows changed by an update or batch")
+    long rows;
+
+    @Label("Batch Size")
+    int batchSize;
+}
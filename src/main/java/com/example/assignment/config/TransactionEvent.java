@@ -0,0 +1,33 @@
+package com.example.assignment.config;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.assignment.Transaction")
+@Label("Transactional Method")
+@Category({"Assignment", "Database"})
+@Description("A @Transactional service method, including the flush and commit of a transaction it started")
+class TransactionEvent extends Event {
+
+    @Label("Class")
+    String className;
+
+    @Label("Method")
+    String method;
+
+    @Label("Propagation")
+    String propagation;
+
+    @Label("Read Only")
+    boolean readOnly;
+
+    @Label("Joined")
+    @Description("Ran inside a transaction that was already active")
+    boolean joined;
+
+    @Label("Exception")
+    String exception;
+}
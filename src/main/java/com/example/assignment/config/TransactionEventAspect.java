@@ -0,0 +1,59 @@
+package com.example.assignment.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Reports every {@code @Transactional} service method as a {@link TransactionEvent}. Ordered outside the
+ * transaction interceptor, so the event of a method that starts a transaction covers its flush and commit.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TransactionEventAspect {
+
+    @Around("within(com.example.assignment.service..*) && execution(public * *(..)) && "
+            + "(@within(org.springframework.transaction.annotation.Transactional) || "
+            + "@annotation(org.springframework.transaction.annotation.Transactional))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        TransactionEvent event = new TransactionEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.joined = TransactionSynchronizationManager.isActualTransactionActive();
+        event.begin();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            event.exception = ex.getClass().getName();
+            throw ex;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+                Transactional transactional = findTransactional(signature);
+                event.className = signature.getDeclaringType().getSimpleName();
+                event.method = signature.getName();
+                if (transactional != null) {
+                    event.propagation = transactional.propagation().name();
+                    event.readOnly = transactional.readOnly();
+                }
+                event.commit();
+            }
+        }
+    }
+
+    // The method's own annotation wins over the class-level one, as for the transaction interceptor
+    private static Transactional findTransactional(MethodSignature signature) {
+        Transactional transactional = AnnotatedElementUtils.findMergedAnnotation(signature.getMethod(),
+                Transactional.class);
+        return transactional != null ? transactional
+                : AnnotatedElementUtils.findMergedAnnotation(signature.getDeclaringType(), Transactional.class);
+    }
+}
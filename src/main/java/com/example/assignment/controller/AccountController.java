@@ -0,0 +1,48 @@
+package com.example.assignment.controller;
+
+import com.example.assignment.dto.AccountResponse;
+import com.example.assignment.entity.Student;
+import com.example.assignment.entity.Teacher;
+import com.example.assignment.service.AccountUserDetails;
+import com.example.assignment.service.StudentService;
+import com.example.assignment.service.TeacherService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/me")
+public class AccountController {
+
+    private final StudentService studentService;
+    private final TeacherService teacherService;
+
+    public AccountController(StudentService studentService, TeacherService teacherService) {
+        this.studentService = studentService;
+        this.teacherService = teacherService;
+    }
+
+    // Linked record ids travel in the principal, so each record is one primary-key lookup
+    @GetMapping
+    public ResponseEntity<AccountResponse> getCurrentAccount(Authentication authentication) {
+        Student student = null;
+        Teacher teacher = null;
+        if (authentication.getPrincipal() instanceof AccountUserDetails account) {
+            if (account.getStudentId() != null) {
+                student = studentService.findById(account.getStudentId()).orElse(null);
+            }
+            if (account.getTeacherId() != null) {
+                teacher = teacherService.findById(account.getTeacherId()).orElse(null);
+            }
+        }
+        List<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        return ResponseEntity.ok(new AccountResponse(authentication.getName(), roles, student, teacher));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.assignment.controller;
+
+import com.example.assignment.dto.CacheRegionStats;
+import com.example.assignment.service.CacheStatisticsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+    private final ResponseCache responseCache;
+
+    public CacheController(CacheStatisticsService cacheStatisticsService, ResponseCache responseCache) {
+        this.cacheStatisticsService = cacheStatisticsService;
+        this.responseCache = responseCache;
+    }
+
+    // Hit/miss/put counts per second-level cache region, for the user details cache and for the
+    // serialized response cache ("responses") since startup
+    @GetMapping("/statistics")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<Map<String, CacheRegionStats>> getCacheStatistics() {
+        Map<String, CacheRegionStats> statistics = new TreeMap<>(cacheStatisticsService.getRegionStatistics());
+        statistics.put("responses", responseCache.getStatistics());
+        return ResponseEntity.ok(statistics);
+    }
+}
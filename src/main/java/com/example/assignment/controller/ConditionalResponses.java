@@ -0,0 +1,38 @@
+package com.example.assignment.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET: when If-None-Match carries the current ETag the answer is 304 and {@code response} is
+ * never called, so the page is neither loaded nor serialized. Otherwise the body goes out with the ETag.
+ *
+ * The responses are marked {@code no-cache, private} instead of the no-store Spring Security sets by
+ * default: clients may keep them, but must revalidate each time.
+ */
+public final class ConditionalResponses {
+
+    private static final String REVALIDATE = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private ConditionalResponses() {
+    }
+
+    public static <T> ResponseEntity<T> ok(ServletWebRequest request, String etag,
+                                           Supplier<ResponseEntity<T>> response) {
+        HttpServletResponse servletResponse = request.getResponse();
+        if (servletResponse != null) {
+            servletResponse.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+        }
+        // Sets the ETag header on the response either way
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return response.get();
+    }
+}
@@ -1,36 +1,80 @@
 package com.example.assignment.controller;
 
+import com.example.assignment.dto.BulkResult;
+import com.example.assignment.dto.CoursePatch;
+import com.example.assignment.dto.CourseSummary;
+import com.example.assignment.dto.CursorPage;
 import com.example.assignment.entity.Course;
+import com.example.assignment.service.ChangeTracker;
+import com.example.assignment.service.ExportFormat;
 import com.example.assignment.service.CourseService;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
 
+import static com.example.assignment.service.ChangeTracker.Table.*;
+
 @RestController
 @RequestMapping("/api/courses")
 public class CourseController {
 
+    // A course's JSON embeds its teacher and enrolled students
+    private static final ChangeTracker.Table[] EMBEDDED = {TEACHERS, STUDENTS, ENROLLMENTS};
+    private static final ChangeTracker.Table[] LISTING = {COURSES, TEACHERS, STUDENTS, ENROLLMENTS};
+
     private final CourseService courseService;
+    private final ChangeTracker changeTracker;
+    private final ResponseCache responseCache;
 
-    public CourseController(CourseService courseService) {
+    public CourseController(CourseService courseService, ChangeTracker changeTracker, ResponseCache responseCache) {
         this.courseService = courseService;
+        this.changeTracker = changeTracker;
+        this.responseCache = responseCache;
     }
 
+    // Keyset pagination: ?after=<last id seen>&limit=N, next cursor returned in X-Next-Cursor / Link.
+    // Polls with If-None-Match get 304 until a course, teacher, student or enrollment changes;
+    // other repeats are served from the serialized response cache.
     @GetMapping
-    public ResponseEntity<List<Course>> getAllCourses() {
-        return ResponseEntity.ok(courseService.findAllCourses());
+    public ResponseEntity<byte[]> getAllCourses(@RequestParam(defaultValue = "0") long after,
+                                                @RequestParam(defaultValue = "50") int limit,
+                                                ServletWebRequest request) {
+        return responseCache.get(request, LISTING,
+                () -> CursorResponses.ok(courseService.findCoursesAfter(after, CursorPage.clampLimit(limit))));
+    }
+
+    // Lightweight listing: one aggregate query per page, no entity graph serialized
+    @GetMapping("/summary")
+    public ResponseEntity<List<CourseSummary>> getCourseSummaries(@RequestParam(defaultValue = "0") long after,
+                                                                  @RequestParam(defaultValue = "50") int limit) {
+        return CursorResponses.ok(courseService.findCourseSummariesAfter(after, CursorPage.clampLimit(limit)));
+    }
+
+    // Rows are written as the database cursor yields them, so the first byte goes out immediately
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCourses(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = out -> courseService.exportCourses(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=courses." + exportFormat.getExtension())
+                .body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Course> getCourseById(@PathVariable Long id) {
+    public ResponseEntity<Course> getCourseById(@PathVariable Long id, ServletWebRequest request) {
         return courseService.findById(id)
-                .map(ResponseEntity::ok)
+                .map(course -> ConditionalResponses.ok(request,
+                        changeTracker.entityTag(course.getVersion(), EMBEDDED), () -> ResponseEntity.ok(course)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -42,6 +86,14 @@ public class CourseController {
         return ResponseEntity.status(HttpStatus.CREATED).body(savedCourse);
     }
 
+    // Returns a per-item report: 201 when every item was created, 207 when some were rejected
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<BulkResult> createCoursesInBulk(@RequestBody List<Course> courses) {
+        BulkResult result = courseService.saveCoursesInBulk(courses);
+        return ResponseEntity.status(result.isComplete() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS).body(result);
+    }
+
     @PostMapping("/ui-create")
     @PreAuthorize("hasRole('TEACHER')")
     public void createCourseViaUI(@RequestParam String title,
@@ -58,19 +110,30 @@ public class CourseController {
         return courseService.findById(id)
                 .map(existingCourse -> {
                     course.setId(id);
+                    // Without a version in the body the update overwrites; with one, a stale version is a 409
+                    if (course.getVersion() == null) {
+                        course.setVersion(existingCourse.getVersion());
+                    }
                     return ResponseEntity.ok(courseService.saveCourse(course));
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Same single-statement contract as StudentController.patchStudent; a new capacity also promotes the waitlist
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<Void> patchCourse(@PathVariable Long id, @Valid @RequestBody CoursePatch patch) {
+        return courseService.patchCourse(id, patch)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('TEACHER')")
     public ResponseEntity<Void> deleteCourse(@PathVariable Long id) {
-        if (courseService.findById(id).isPresent()) {
-            courseService.deleteCourse(id);
-            return ResponseEntity.noContent().build();
-        }
-        return ResponseEntity.notFound().build();
+        return courseService.deleteCourse(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
     }
 
     @GetMapping("/delete/{id}")
@@ -0,0 +1,41 @@
+package com.example.assignment.controller;
+
+import com.example.assignment.dto.CursorPage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+/**
+ * Renders a {@link CursorPage} as a plain JSON array so existing clients keep working.
+ * The cursor for the next page travels in the {@code X-Next-Cursor} and {@code Link} headers.
+ */
+public final class CursorResponses {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private CursorResponses() {
+    }
+
+    public static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+        return ok(page, null);
+    }
+
+    // total, when requested, is the match count across all pages and goes out in X-Total-Count
+    public static <T> ResponseEntity<List<T>> ok(CursorPage<T> page, Long total) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (total != null) {
+            response.header(TOTAL_COUNT_HEADER, String.valueOf(total));
+        }
+        if (page.next() != null) {
+            String nextUrl = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", page.next())
+                    .toUriString();
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.next()))
+                    .header(HttpHeaders.LINK, "<" + nextUrl + ">; rel=\"next\"");
+        }
+        return response.body(page.items());
+    }
+}
@@ -1,37 +1,74 @@
 package com.example.assignment.controller;
 
+import com.example.assignment.dto.CursorPage;
+import com.example.assignment.dto.DepartmentPatch;
 import com.example.assignment.entity.Department;
+import com.example.assignment.entity.Student;
+import com.example.assignment.entity.Teacher;
+import com.example.assignment.service.ChangeTracker;
 import com.example.assignment.service.DepartmentService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
+import static com.example.assignment.service.ChangeTracker.Table.*;
+
 @RestController
 @RequestMapping("/api/departments")
 public class DepartmentController {
 
+    // The overview counts cover students, teachers and courses, so their changes invalidate it too
+    private static final ChangeTracker.Table[] LISTING = {DEPARTMENTS, STUDENTS, TEACHERS, COURSES};
+
     private final DepartmentService departmentService;
+    private final ChangeTracker changeTracker;
+    private final ResponseCache responseCache;
 
-    public DepartmentController(DepartmentService departmentService) {
+    public DepartmentController(DepartmentService departmentService, ChangeTracker changeTracker,
+                                ResponseCache responseCache) {
         this.departmentService = departmentService;
+        this.changeTracker = changeTracker;
+        this.responseCache = responseCache;
     }
 
+    // Overview rows with member counts; keyset pagination as in the other listings.
+    // Conditional and served from the serialized response cache like GET /api/courses.
     @GetMapping
-    public ResponseEntity<List<Department>> getAllDepartments() {
-        return ResponseEntity.ok(departmentService.getAllDepartments());
+    public ResponseEntity<byte[]> getAllDepartments(@RequestParam(defaultValue = "0") long after,
+                                                    @RequestParam(defaultValue = "50") int limit,
+                                                    ServletWebRequest request) {
+        return responseCache.get(request, LISTING,
+                () -> CursorResponses.ok(departmentService.findDepartmentOverviewsAfter(after, CursorPage.clampLimit(limit))));
     }
 
+    // Members are not part of a department's JSON, so its version alone is the ETag
     @GetMapping("/{id}")
-    public ResponseEntity<Department> getDepartmentById(@PathVariable Long id) {
+    public ResponseEntity<Department> getDepartmentById(@PathVariable Long id, ServletWebRequest request) {
         return departmentService.findById(id)
-                .map(ResponseEntity::ok)
+                .map(department -> ConditionalResponses.ok(request,
+                        changeTracker.entityTag(department.getVersion()), () -> ResponseEntity.ok(department)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/students")
+    public ResponseEntity<List<Student>> getDepartmentStudents(@PathVariable Long id,
+                                                               @RequestParam(defaultValue = "0") long after,
+                                                               @RequestParam(defaultValue = "50") int limit) {
+        return CursorResponses.ok(departmentService.findStudentsAfter(id, after, CursorPage.clampLimit(limit)));
+    }
+
+    @GetMapping("/{id}/teachers")
+    public ResponseEntity<List<Teacher>> getDepartmentTeachers(@PathVariable Long id,
+                                                               @RequestParam(defaultValue = "0") long after,
+                                                               @RequestParam(defaultValue = "50") int limit) {
+        return CursorResponses.ok(departmentService.findTeachersAfter(id, after, CursorPage.clampLimit(limit)));
+    }
+
     @PostMapping
     @PreAuthorize("hasRole('TEACHER')")
     public ResponseEntity<Department> createDepartment(@Valid @RequestBody Department department) {
@@ -46,18 +83,29 @@ public class DepartmentController {
         return departmentService.findById(id)
                 .map(existingDept -> {
                     department.setId(id);
+                    if (department.getVersion() == null) {
+                        department.setVersion(existingDept.getVersion());
+                    }
                     return ResponseEntity.ok(departmentService.saveDepartment(department));
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Renames in place; the name is uppercased as on create
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<Void> patchDepartment(@PathVariable Long id, @Valid @RequestBody DepartmentPatch patch) {
+        return departmentService.patchDepartment(id, patch)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('TEACHER')")
-    public ResponseEntity<Void> deleteDepartment(@PathVariable Long id) {
-        if (departmentService.findById(id).isPresent()) {
-            departmentService.deleteDepartment(id);
-            return ResponseEntity.noContent().build();
-        }
-        return ResponseEntity.notFound().build();
+    public ResponseEntity<Void> deleteDepartment(@PathVariable Long id,
+                                                 @RequestParam(required = false) Integer chunkSize) {
+        return departmentService.deleteDepartment(id, chunkSize)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.example.assignment.controller;
+
+import com.example.assignment.dto.EnrollmentResult;
+import com.example.assignment.exception.BadRequestException;
+import com.example.assignment.service.AccountUserDetails;
+import com.example.assignment.service.EnrollmentService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/courses/{courseId}/enrollments")
+public class EnrollmentController {
+
+    private final EnrollmentService enrollmentService;
+
+    public EnrollmentController(EnrollmentService enrollmentService) {
+        this.enrollmentService = enrollmentService;
+    }
+
+    // Body: [studentId, ...]; already enrolled and unknown students are skipped, see EnrollmentResult.changed.
+    // All-or-nothing against capacity: 409 when the course lacks seats for every new enrollment
+    @PostMapping
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<EnrollmentResult> enrollStudents(@PathVariable Long courseId,
+                                                           @RequestBody List<Long> studentIds) {
+        return ResponseEntity.ok(enrollmentService.enroll(courseId, studentIds));
+    }
+
+    // A student taking a seat for themselves; 409 when the course is full or students are waitlisted for it
+    @PostMapping("/me")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<EnrollmentResult> enrollSelf(@PathVariable Long courseId, Authentication authentication) {
+        return ResponseEntity.ok(enrollmentService.enrollSelf(courseId, studentId(authentication)));
+    }
+
+    // Bulk variant of the single DELETE below; body: [studentId, ...]
+    @DeleteMapping
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<EnrollmentResult> unenrollStudents(@PathVariable Long courseId,
+                                                             @RequestBody List<Long> studentIds) {
+        return ResponseEntity.ok(enrollmentService.unenroll(courseId, studentIds));
+    }
+
+    @DeleteMapping("/{studentId}")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<Void> unenrollStudent(@PathVariable Long courseId, @PathVariable Long studentId) {
+        enrollmentService.unenroll(courseId, List.of(studentId));
+        return ResponseEntity.noContent().build();
+    }
+
+    static Long studentId(Authentication authentication) {
+        if (!(authentication.getPrincipal() instanceof AccountUserDetails account) || account.getStudentId() == null) {
+            throw new BadRequestException("Account is not linked to a student record");
+        }
+        return account.getStudentId();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.assignment.controller;
+
+import com.example.assignment.dto.RecordingStatus;
+import com.example.assignment.exception.BadRequestException;
+import com.example.assignment.service.FlightRecordingService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Java Flight Recorder on demand: POST starts a continuous recording, GET /dump downloads what it holds so
+ * far and DELETE stops it and downloads the rest. The .jfr opens in JDK Mission Control or {@code jfr print}.
+ */
+@RestController
+@RequestMapping("/api/admin/recording")
+@PreAuthorize("hasRole('ADMIN')")
+public class RecordingController {
+
+    private static final MediaType JFR = MediaType.APPLICATION_OCTET_STREAM;
+
+    private final FlightRecordingService flightRecordingService;
+
+    public RecordingController(FlightRecordingService flightRecordingService) {
+        this.flightRecordingService = flightRecordingService;
+    }
+
+    // maxAge is ISO-8601 (PT10M), maxSize like 50MB
+    @PostMapping
+    public ResponseEntity<RecordingStatus> startRecording(@RequestParam(required = false) Duration maxAge,
+                                                          @RequestParam(required = false) String maxSize,
+                                                          @RequestParam(defaultValue = "default") String settings) {
+        return flightRecordingService.start(maxAge, parseSize(maxSize), settings)
+                .map(status -> ResponseEntity.status(HttpStatus.CREATED).body(status))
+                .orElse(ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+
+    @GetMapping
+    public ResponseEntity<RecordingStatus> getRecording() {
+        return ResponseEntity.of(flightRecordingService.getStatus());
+    }
+
+    @GetMapping("/dump")
+    public ResponseEntity<StreamingResponseBody> dumpRecording() {
+        return flightRecordingService.dump()
+                .map(RecordingController::download)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<StreamingResponseBody> stopRecording() {
+        return flightRecordingService.stop()
+                .map(RecordingController::download)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static ResponseEntity<StreamingResponseBody> download(Path file) {
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(JFR)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + file.getFileName())
+                .body(body);
+    }
+
+    private static DataSize parseSize(String maxSize) {
+        if (maxSize == null) {
+            return null;
+        }
+        try {
+            return DataSize.parse(maxSize);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("maxSize must be a size such as 50MB");
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.assignment.controller;
+
+import com.example.assignment.dto.CacheRegionStats;
+import com.example.assignment.service.ChangeTracker;
+import com.example.assignment.service.ChangeTracker.Table;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Hot listings kept as their serialized JSON, so a repeated GET is a buffer copy instead of a query plus a
+ * Jackson walk over the entity graph.
+ *
+ * Entries are keyed by URL, sorted query parameters and the caller's roles, and remember the
+ * {@link ChangeTracker} tag they were rendered under: an entry is served only while that tag is current,
+ * and a change to any of its tables evicts it straight away. Bodies of at least gzip-min-size are also
+ * kept gzip-compressed for clients that accept it. The whole cache is bounded by max-size bytes, the
+ * least valuable entries going first, and no entry outlives ttl.
+ */
+@Component
+public class ResponseCache {
+
+    public static final String CACHE_HEADER = "X-Response-Cache";
+
+    private static final String GZIP_SUFFIX = "-gz";
+
+    // Rough per-entry cost of key, headers and bookkeeping, so many tiny pages still count
+    private static final int ENTRY_OVERHEAD = 512;
+
+    private final ChangeTracker changeTracker;
+    private final ObjectMapper objectMapper;
+    private final long gzipMinBytes;
+    private final Cache<Key, Entry> cache;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+
+    public ResponseCache(ChangeTracker changeTracker, ObjectMapper objectMapper,
+                         @Value("${app.response-cache.max-size:32MB}") DataSize maxSize,
+                         @Value("${app.response-cache.gzip-min-size:2KB}") DataSize gzipMinSize,
+                         @Value("${app.response-cache.ttl:5m}") Duration ttl) {
+        this.changeTracker = changeTracker;
+        this.objectMapper = objectMapper;
+        this.gzipMinBytes = gzipMinSize.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Key key, Entry entry) -> entry.weight())
+                .expireAfterWrite(ttl)
+                .build();
+        changeTracker.onChange(this::evict);
+    }
+
+    /**
+     * Answers a GET of a listing built from rows of {@code tables}: 304 when If-None-Match is current,
+     * the cached bytes when present, otherwise {@code response} rendered, stored and sent.
+     */
+    public ResponseEntity<byte[]> get(ServletWebRequest request, Table[] tables,
+                                      Supplier<? extends ResponseEntity<?>> response) {
+        String tag = changeTracker.tag(tables);
+        boolean gzip = acceptsGzip(request.getRequest());
+        Key key = Key.of(request.getRequest());
+        Entry cached = cache.getIfPresent(key);
+        if (cached != null && cached.tag().equals(tag)) {
+            return ConditionalResponses.ok(request, cached.etag(gzip), () -> {
+                hits.increment();
+                return cached.toResponse(gzip, true);
+            });
+        }
+        return ConditionalResponses.ok(request, conditionalTag(request, tag, gzip), () -> {
+            misses.increment();
+            Entry entry = render(response.get(), tag, tables);
+            cache.put(key, entry);
+            puts.increment();
+            HttpServletResponse servletResponse = request.getResponse();
+            if (servletResponse != null) {
+                servletResponse.setHeader(HttpHeaders.ETAG, '"' + entry.etag(gzip) + '"');
+            }
+            return entry.toResponse(gzip, false);
+        });
+    }
+
+    /**
+     * Without an entry it is not known yet whether the body is large enough to be compressed. The same tag
+     * means the same bytes, though, so a client accepting gzip holds a current copy under either variant.
+     */
+    private static String conditionalTag(ServletWebRequest request, String tag, boolean gzip) {
+        String compressedTag = tag + GZIP_SUFFIX;
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        return gzip && ifNoneMatch != null && ifNoneMatch.contains('"' + compressedTag + '"') ? compressedTag : tag;
+    }
+
+    private Entry render(ResponseEntity<?> response, String tag, Table[] tables) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(response.getBody());
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + e.getOriginalMessage(), e);
+        }
+        byte[] compressed = json.length >= gzipMinBytes ? gzip(json) : null;
+        return new Entry(tag, EnumSet.copyOf(Arrays.asList(tables)), response.getHeaders(), json, compressed);
+    }
+
+    private void evict(Table table) {
+        cache.asMap().values().removeIf(entry -> entry.tables().contains(table));
+    }
+
+    public CacheRegionStats getStatistics() {
+        return new CacheRegionStats(hits.sum(), misses.sum(), puts.sum(), cache.estimatedSize());
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record Key(String roles, String path, String query) {
+
+        static Key of(HttpServletRequest request) {
+            Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+            String query = parameters.entrySet().stream()
+                    .map(parameter -> parameter.getKey() + "=" + String.join(",", parameter.getValue()))
+                    .collect(Collectors.joining("&"));
+            // The path only: the same page reached under another host name or port is the same entry
+            return new Key(currentRoles(), request.getRequestURI(), query);
+        }
+
+        private static String currentRoles() {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null) {
+                return "";
+            }
+            return authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .sorted()
+                    .collect(Collectors.joining(","));
+        }
+    }
+
+    private record Entry(String tag, Set<Table> tables, HttpHeaders headers, byte[] json, byte[] gzip) {
+
+        // A strong ETag names one exact byte sequence, so the compressed variant gets its own
+        String etag(boolean acceptsGzip) {
+            return acceptsGzip && gzip != null ? tag + GZIP_SUFFIX : tag;
+        }
+
+        int weight() {
+            return ENTRY_OVERHEAD + json.length + (gzip == null ? 0 : gzip.length);
+        }
+
+        ResponseEntity<byte[]> toResponse(boolean acceptsGzip, boolean hit) {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .headers(headers)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .header(CACHE_HEADER, hit ? "hit" : "miss");
+            if (acceptsGzip && gzip != null) {
+                return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzip);
+            }
+            return response.body(json);
+        }
+    }
+}
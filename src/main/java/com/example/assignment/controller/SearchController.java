@@ -0,0 +1,40 @@
+package com.example.assignment.controller;
+
+import com.example.assignment.dto.SearchHit;
+import com.example.assignment.dto.SearchType;
+import com.example.assignment.exception.BadRequestException;
+import com.example.assignment.service.SearchIndex;
+import com.example.assignment.service.SearchService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final SearchService searchService;
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    // Typeahead over student, teacher and course names and codes; every word of q must match, ranked best first
+    @GetMapping
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<List<SearchHit>> search(@RequestParam String q,
+                                                  @RequestParam(required = false) SearchType type,
+                                                  @RequestParam(defaultValue = "10") int limit) {
+        if (q.strip().length() < SearchIndex.MIN_QUERY_LENGTH) {
+            throw new BadRequestException("Query must be at least " + SearchIndex.MIN_QUERY_LENGTH + " characters");
+        }
+        return ResponseEntity.ok(searchService.search(q, type, Math.max(1, Math.min(limit, MAX_LIMIT))));
+    }
+}
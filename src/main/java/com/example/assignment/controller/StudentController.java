@@ -1,36 +1,84 @@
 package com.example.assignment.controller;
 
+import com.example.assignment.dto.BulkResult;
+import com.example.assignment.dto.CursorPage;
+import com.example.assignment.dto.StudentFilter;
+import com.example.assignment.dto.StudentPatch;
 import com.example.assignment.entity.Student;
+import com.example.assignment.service.ChangeTracker;
+import com.example.assignment.service.ExportFormat;
 import com.example.assignment.service.StudentService;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
 
+import static com.example.assignment.service.ChangeTracker.Table.*;
+
 @RestController
 @RequestMapping("/api/students")
 public class StudentController {
 
+    // A student's JSON embeds its department and enrolled courses
+    private static final ChangeTracker.Table[] EMBEDDED = {DEPARTMENTS, COURSES, ENROLLMENTS};
+
     private final StudentService studentService;
+    private final ChangeTracker changeTracker;
 
-    public StudentController(StudentService studentService) {
+    public StudentController(StudentService studentService, ChangeTracker changeTracker) {
         this.studentService = studentService;
+        this.changeTracker = changeTracker;
     }
 
+    // Keyset pagination: ?after=<last id seen>&limit=N, next cursor returned in X-Next-Cursor / Link
     @GetMapping
-    public ResponseEntity<List<Student>> getAllStudents() {
-        return ResponseEntity.ok(studentService.findAllStudents());
+    public ResponseEntity<List<Student>> getAllStudents(@RequestParam(defaultValue = "0") long after,
+                                                        @RequestParam(defaultValue = "50") int limit,
+                                                        ServletWebRequest request) {
+        return ConditionalResponses.ok(request, changeTracker.tag(STUDENTS, DEPARTMENTS, COURSES, ENROLLMENTS),
+                () -> CursorResponses.ok(studentService.findStudentsAfter(after, CursorPage.clampLimit(limit))));
+    }
+
+    // Structured filters evaluated in the database as one statement, keyset paged like the plain listing;
+    // count=true adds the total number of matches in X-Total-Count at the cost of a second query
+    @GetMapping("/query")
+    public ResponseEntity<List<Student>> queryStudents(@RequestParam(required = false) Long departmentId,
+                                                       @RequestParam(required = false) Long courseId,
+                                                       @RequestParam(required = false) String namePrefix,
+                                                       @RequestParam(required = false) String studentIdFrom,
+                                                       @RequestParam(required = false) String studentIdTo,
+                                                       @RequestParam(defaultValue = "0") long after,
+                                                       @RequestParam(defaultValue = "50") int limit,
+                                                       @RequestParam(defaultValue = "false") boolean count) {
+        StudentFilter filter = new StudentFilter(departmentId, courseId, namePrefix, studentIdFrom, studentIdTo);
+        CursorPage<Student> page = studentService.queryStudents(filter, after, CursorPage.clampLimit(limit));
+        return CursorResponses.ok(page, count ? studentService.countStudents(filter) : null);
+    }
+
+    // Rows are written as the database cursor yields them, so the first byte goes out immediately
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportStudents(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = out -> studentService.exportStudents(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=students." + exportFormat.getExtension())
+                .body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Student> getStudentById(@PathVariable Long id) {
+    public ResponseEntity<Student> getStudentById(@PathVariable Long id, ServletWebRequest request) {
         return studentService.findById(id)
-                .map(ResponseEntity::ok)
+                .map(student -> ConditionalResponses.ok(request,
+                        changeTracker.entityTag(student.getVersion(), EMBEDDED), () -> ResponseEntity.ok(student)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -41,6 +89,14 @@ public class StudentController {
         return ResponseEntity.status(HttpStatus.CREATED).body(savedStudent);
     }
 
+    // Returns a per-item report: 201 when every item was created, 207 when some were rejected
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<BulkResult> createStudentsInBulk(@RequestBody List<Student> students) {
+        BulkResult result = studentService.saveStudentsInBulk(students);
+        return ResponseEntity.status(result.isComplete() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS).body(result);
+    }
+
     @PostMapping("/ui-create")
     @PreAuthorize("hasRole('TEACHER')")
     public void addStudentViaUI(@RequestParam String name,
@@ -57,20 +113,31 @@ public class StudentController {
         return studentService.findById(id)
                 .map(existingStudent -> {
                     student.setId(id);
+                    if (student.getVersion() == null) {
+                        student.setVersion(existingStudent.getVersion());
+                    }
                     return ResponseEntity.ok(studentService.saveStudent(student));
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Partial update: null fields are left alone, and the whole request is one conditional UPDATE with no
+    // read of the row first, its row count telling 204 from 404
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<Void> patchStudent(@PathVariable Long id, @Valid @RequestBody StudentPatch patch) {
+        return studentService.patchStudent(id, patch)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
     // Business Rule: Only TEACHER can delete students (students cannot delete themselves)
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('TEACHER')")
     public ResponseEntity<Void> deleteStudent(@PathVariable Long id) {
-        if (studentService.findById(id).isPresent()) {
-            studentService.removeStudent(id);
-            return ResponseEntity.noContent().build();
-        }
-        return ResponseEntity.notFound().build();
+        return studentService.removeStudent(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
     }
 
     @GetMapping("/delete/{id}")
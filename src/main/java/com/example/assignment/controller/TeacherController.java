@@ -1,36 +1,67 @@
 package com.example.assignment.controller;
 
+import com.example.assignment.dto.BulkResult;
+import com.example.assignment.dto.CursorPage;
+import com.example.assignment.dto.TeacherPatch;
 import com.example.assignment.entity.Teacher;
+import com.example.assignment.service.ChangeTracker;
+import com.example.assignment.service.ExportFormat;
 import com.example.assignment.service.TeacherService;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
 
+import static com.example.assignment.service.ChangeTracker.Table.*;
+
 @RestController
 @RequestMapping("/api/teachers")
 public class TeacherController {
 
+    // A teacher's JSON embeds its department and the courses it teaches
+    private static final ChangeTracker.Table[] EMBEDDED = {DEPARTMENTS, COURSES};
+
     private final TeacherService teacherService;
+    private final ChangeTracker changeTracker;
 
-    public TeacherController(TeacherService teacherService) {
+    public TeacherController(TeacherService teacherService, ChangeTracker changeTracker) {
         this.teacherService = teacherService;
+        this.changeTracker = changeTracker;
     }
 
+    // Keyset pagination: ?after=<last id seen>&limit=N, next cursor returned in X-Next-Cursor / Link
     @GetMapping
-    public ResponseEntity<List<Teacher>> getAllTeachers() {
-        return ResponseEntity.ok(teacherService.findAllTeachers());
+    public ResponseEntity<List<Teacher>> getAllTeachers(@RequestParam(defaultValue = "0") long after,
+                                                        @RequestParam(defaultValue = "50") int limit,
+                                                        ServletWebRequest request) {
+        return ConditionalResponses.ok(request, changeTracker.tag(TEACHERS, DEPARTMENTS, COURSES),
+                () -> CursorResponses.ok(teacherService.findTeachersAfter(after, CursorPage.clampLimit(limit))));
+    }
+
+    // Rows are written as the database cursor yields them, so the first byte goes out immediately
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTeachers(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = out -> teacherService.exportTeachers(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=teachers." + exportFormat.getExtension())
+                .body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Teacher> getTeacherById(@PathVariable Long id) {
+    public ResponseEntity<Teacher> getTeacherById(@PathVariable Long id, ServletWebRequest request) {
         return teacherService.findById(id)
-                .map(ResponseEntity::ok)
+                .map(teacher -> ConditionalResponses.ok(request,
+                        changeTracker.entityTag(teacher.getVersion(), EMBEDDED), () -> ResponseEntity.ok(teacher)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -42,6 +73,14 @@ public class TeacherController {
         return ResponseEntity.status(HttpStatus.CREATED).body(savedTeacher);
     }
 
+    // Returns a per-item report: 201 when every item was created, 207 when some were rejected
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<BulkResult> createTeachersInBulk(@RequestBody List<Teacher> teachers) {
+        BulkResult result = teacherService.saveTeachersInBulk(teachers);
+        return ResponseEntity.status(result.isComplete() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS).body(result);
+    }
+
     @PostMapping("/ui-create")
     @PreAuthorize("hasRole('TEACHER')")
     public void addTeacherViaUI(@RequestParam String name,
@@ -58,26 +97,37 @@ public class TeacherController {
         return teacherService.findById(id)
                 .map(existingTeacher -> {
                     teacher.setId(id);
+                    if (teacher.getVersion() == null) {
+                        teacher.setVersion(existingTeacher.getVersion());
+                    }
                     return ResponseEntity.ok(teacherService.saveTeacher(teacher));
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Name, email and/or teacher id; 409 on a stale version
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<Void> patchTeacher(@PathVariable Long id, @Valid @RequestBody TeacherPatch patch) {
+        return teacherService.patchTeacher(id, patch)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
     // Business Rule: Only TEACHER can delete teachers
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('TEACHER')")
-    public ResponseEntity<Void> deleteTeacher(@PathVariable Long id) {
-        if (teacherService.findById(id).isPresent()) {
-            teacherService.deleteTeacher(id);
-            return ResponseEntity.noContent().build();
-        }
-        return ResponseEntity.notFound().build();
+    public ResponseEntity<Void> deleteTeacher(@PathVariable Long id,
+                                              @RequestParam(required = false) Integer chunkSize) {
+        return teacherService.deleteTeacher(id, chunkSize)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
     }
 
     @GetMapping("/delete/{id}")
     @PreAuthorize("hasRole('TEACHER')")
     public void deleteTeacherViaUI(@PathVariable Long id, HttpServletResponse response) throws IOException {
-        teacherService.deleteTeacher(id);
+        teacherService.deleteTeacher(id, null);
         response.sendRedirect("/dashboard");
     }
 }
@@ -1,13 +1,20 @@
 package com.example.assignment.controller;
 
+import com.example.assignment.dto.CourseSummary;
+import com.example.assignment.dto.CursorPage;
+import com.example.assignment.entity.Student;
 import com.example.assignment.service.DashboardService;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @Controller
 public class ViewController {
 
+    // Rows rendered with the first paint; further pages are fetched as fragments
+    static final int PAGE_SIZE = 25;
+
     private final DashboardService dashboardService; // Inject Service
 
     public ViewController(DashboardService dashboardService) {
@@ -17,9 +24,36 @@ public class ViewController {
     @GetMapping({"/", "/dashboard"})
     public String showDashboard(Model model) {
         // Service handles authentication via SecurityContextHolder
-        model.addAttribute("students", dashboardService.getStudentsForUser());
-        model.addAttribute("courses", dashboardService.getAllCourses());
+        model.addAttribute("summary", dashboardService.getSummary());
+        addStudentPage(model, dashboardService.getStudentsForUser(0, PAGE_SIZE));
+        addCoursePage(model, dashboardService.getCourses(0, PAGE_SIZE));
 
         return "dashboard";
     }
-}
\ No newline at end of file
+
+    @GetMapping("/dashboard/students")
+    public String studentRows(@RequestParam(defaultValue = "0") long after,
+                              @RequestParam(defaultValue = "" + PAGE_SIZE) int limit,
+                              Model model) {
+        addStudentPage(model, dashboardService.getStudentsForUser(after, limit));
+        return "dashboard :: studentRows";
+    }
+
+    @GetMapping("/dashboard/courses")
+    public String courseRows(@RequestParam(defaultValue = "0") long after,
+                             @RequestParam(defaultValue = "" + PAGE_SIZE) int limit,
+                             Model model) {
+        addCoursePage(model, dashboardService.getCourses(after, limit));
+        return "dashboard :: courseRows";
+    }
+
+    private static void addStudentPage(Model model, CursorPage<Student> page) {
+        model.addAttribute("students", page.items());
+        model.addAttribute("studentsNext", page.next());
+    }
+
+    private static void addCoursePage(Model model, CursorPage<CourseSummary> page) {
+        model.addAttribute("courses", page.items());
+        model.addAttribute("coursesNext", page.next());
+    }
+}
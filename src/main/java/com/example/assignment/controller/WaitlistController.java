@@ -0,0 +1,49 @@
+package com.example.assignment.controller;
+
+import com.example.assignment.dto.WaitlistPosition;
+import com.example.assignment.dto.WaitlistStatistics;
+import com.example.assignment.service.WaitlistService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    public WaitlistController(WaitlistService waitlistService) {
+        this.waitlistService = waitlistService;
+    }
+
+    // Queues the signed-in student; the seat is assigned asynchronously, poll GET for the current place
+    @PostMapping("/courses/{courseId}/waitlist/me")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<WaitlistPosition> joinWaitlist(@PathVariable Long courseId, Authentication authentication) {
+        return ResponseEntity.ok(waitlistService.join(courseId, EnrollmentController.studentId(authentication)));
+    }
+
+    // 404 once the student is no longer waiting, either promoted or removed
+    @GetMapping("/courses/{courseId}/waitlist/me")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<WaitlistPosition> getWaitlistPosition(@PathVariable Long courseId,
+                                                                Authentication authentication) {
+        return ResponseEntity.ok(waitlistService.getPosition(courseId, EnrollmentController.studentId(authentication)));
+    }
+
+    @DeleteMapping("/courses/{courseId}/waitlist/me")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<Void> leaveWaitlist(@PathVariable Long courseId, Authentication authentication) {
+        waitlistService.leave(courseId, EnrollmentController.studentId(authentication));
+        return ResponseEntity.noContent().build();
+    }
+
+    // Promotion throughput and lag since startup, plus the current number of waiting entries
+    @GetMapping("/waitlist/statistics")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<WaitlistStatistics> getWaitlistStatistics() {
+        return ResponseEntity.ok(waitlistService.getStatistics());
+    }
+}
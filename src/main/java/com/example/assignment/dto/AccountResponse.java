@@ -0,0 +1,12 @@
+package com.example.assignment.dto;
+
+import com.example.assignment.entity.Student;
+import com.example.assignment.entity.Teacher;
+
+import java.util.List;
+
+/**
+ * The caller's account with the Student and/or Teacher record linked to it (null when not linked).
+ */
+public record AccountResponse(String username, List<String> roles, Student student, Teacher teacher) {
+}
@@ -0,0 +1,25 @@
+package com.example.assignment.dto;
+
+import java.util.Map;
+
+/**
+ * Outcome of one element of a bulk create request, addressed by its position in the request array.
+ */
+public record BulkItemResult(int index, Status status, Long id, Map<String, String> errors) {
+
+    public enum Status {
+        CREATED, INVALID, FAILED
+    }
+
+    public static BulkItemResult created(int index, Long id) {
+        return new BulkItemResult(index, Status.CREATED, id, Map.of());
+    }
+
+    public static BulkItemResult invalid(int index, Map<String, String> errors) {
+        return new BulkItemResult(index, Status.INVALID, null, errors);
+    }
+
+    public static BulkItemResult failed(int index, String message) {
+        return new BulkItemResult(index, Status.FAILED, null, Map.of("error", message));
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.assignment.dto;
+
+import java.util.List;
+
+public record BulkResult(int created, int failed, List<BulkItemResult> items) {
+
+    public static BulkResult of(List<BulkItemResult> items) {
+        int created = (int) items.stream()
+                .filter(item -> item.status() == BulkItemResult.Status.CREATED)
+                .count();
+        return new BulkResult(created, items.size() - created, items);
+    }
+
+    public boolean isComplete() {
+        return failed == 0;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.assignment.dto;
+
+public record CacheRegionStats(long hits, long misses, long puts, long size) {
+
+    public double hitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+}
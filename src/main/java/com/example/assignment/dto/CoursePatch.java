@@ -0,0 +1,15 @@
+package com.example.assignment.dto;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * Body of PATCH /api/courses/{id}: only non-null fields change. A version, when sent, must be current.
+ * Null cannot tell "unchanged" from "unlimited", so lifting a course's capacity limit takes a PUT.
+ */
+public record CoursePatch(
+        @Pattern(regexp = PatchFields.NOT_BLANK, message = "Title must not be blank") String title,
+        @Pattern(regexp = PatchFields.NOT_BLANK, message = "Course code must not be blank") String courseCode,
+        @PositiveOrZero(message = "Capacity cannot be negative") Integer capacity,
+        Long version) {
+}
@@ -0,0 +1,7 @@
+package com.example.assignment.dto;
+
+/**
+ * Flat read model for course listings; the enrolled count is computed by the database.
+ */
+public record CourseSummary(Long id, String courseCode, String title, String teacherName, long enrolledCount) {
+}
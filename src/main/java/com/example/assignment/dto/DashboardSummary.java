@@ -0,0 +1,11 @@
+package com.example.assignment.dto;
+
+import java.util.List;
+
+/**
+ * Header tiles of the dashboard, all computed by count queries so their cost does not grow with row counts
+ * on the page.
+ */
+public record DashboardSummary(long studentCount, long courseCount, long enrollmentCount,
+                               List<DepartmentEnrollment> departments) {
+}
@@ -0,0 +1,7 @@
+package com.example.assignment.dto;
+
+/**
+ * Dashboard tile: course enrollments of the students in one department.
+ */
+public record DepartmentEnrollment(Long id, String name, long enrollmentCount) {
+}
@@ -0,0 +1,7 @@
+package com.example.assignment.dto;
+
+/**
+ * Department listing row with membership counts instead of the member collections themselves.
+ */
+public record DepartmentOverview(Long id, String name, long studentCount, long teacherCount, long courseCount) {
+}
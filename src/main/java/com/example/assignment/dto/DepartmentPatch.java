@@ -0,0 +1,11 @@
+package com.example.assignment.dto;
+
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Body of PATCH /api/departments/{id}. A version, when sent, must be current.
+ */
+public record DepartmentPatch(
+        @Pattern(regexp = PatchFields.NOT_BLANK, message = "Department name must not be blank") String name,
+        Long version) {
+}
@@ -0,0 +1,8 @@
+package com.example.assignment.dto;
+
+/**
+ * Outcome of a set-based enrollment change: how many student ids were sent and how many join rows
+ * were actually inserted or deleted (already enrolled, not enrolled or unknown students are skipped).
+ */
+public record EnrollmentResult(Long courseId, int requested, int changed) {
+}
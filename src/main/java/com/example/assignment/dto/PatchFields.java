@@ -0,0 +1,10 @@
+package com.example.assignment.dto;
+
+final class PatchFields {
+
+    // @NotBlank for optional fields: null passes (left unchanged), "" and whitespace do not
+    static final String NOT_BLANK = "(?s).*\\S.*";
+
+    private PatchFields() {
+    }
+}
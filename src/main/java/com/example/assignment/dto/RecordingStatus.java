@@ -0,0 +1,11 @@
+package com.example.assignment.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * The running flight recording: it keeps the last maxAge of events, at most maxSizeBytes on disk.
+ */
+public record RecordingStatus(long id, String state, String settings, Instant startTime,
+                              Duration maxAge, long maxSizeBytes) {
+}
@@ -0,0 +1,7 @@
+package com.example.assignment.dto;
+
+/**
+ * One ranked search result: title is the name or course title, subtitle the student, teacher or course code.
+ */
+public record SearchHit(SearchType type, Long id, String title, String subtitle, int score) {
+}
@@ -0,0 +1,7 @@
+package com.example.assignment.dto;
+
+public enum SearchType {
+    STUDENT,
+    TEACHER,
+    COURSE
+}
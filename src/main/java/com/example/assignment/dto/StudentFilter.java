@@ -0,0 +1,9 @@
+package com.example.assignment.dto;
+
+/**
+ * Structured criteria for GET /api/students/query; null fields are not filtered on.
+ * The name prefix is case-sensitive so it can seek the name index; the studentId range is inclusive.
+ */
+public record StudentFilter(Long departmentId, Long courseId, String namePrefix,
+                            String studentIdFrom, String studentIdTo) {
+}
@@ -0,0 +1,12 @@
+package com.example.assignment.dto;
+
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Body of PATCH /api/students/{id}: only non-null fields change. A version, when sent, must be current.
+ */
+public record StudentPatch(
+        @Pattern(regexp = PatchFields.NOT_BLANK, message = "Name must not be blank") String name,
+        @Pattern(regexp = PatchFields.NOT_BLANK, message = "Student ID must not be blank") String studentId,
+        Long version) {
+}
@@ -0,0 +1,14 @@
+package com.example.assignment.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Body of PATCH /api/teachers/{id}: only non-null fields change. A version, when sent, must be current.
+ */
+public record TeacherPatch(
+        @Pattern(regexp = PatchFields.NOT_BLANK, message = "Name must not be blank") String name,
+        @Email(message = "Email should be valid") String email,
+        @Pattern(regexp = PatchFields.NOT_BLANK, message = "Teacher ID must not be blank") String teacherId,
+        Long version) {
+}
@@ -0,0 +1,7 @@
+package com.example.assignment.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record TokenRequest(@NotBlank(message = "Username is required") String username,
+                           @NotBlank(message = "Password is required") String password) {
+}
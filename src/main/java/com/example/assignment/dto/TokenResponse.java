@@ -0,0 +1,4 @@
+package com.example.assignment.dto;
+
+public record TokenResponse(String accessToken, String tokenType, long expiresIn) {
+}
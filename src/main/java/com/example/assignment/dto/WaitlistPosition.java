@@ -0,0 +1,7 @@
+package com.example.assignment.dto;
+
+/**
+ * A student's 1-based place in a course's waitlist.
+ */
+public record WaitlistPosition(Long courseId, long position) {
+}
@@ -0,0 +1,9 @@
+package com.example.assignment.dto;
+
+/**
+ * Waitlist promotion counters since startup. Lag is the time a promoted student spent on the waitlist;
+ * skippedLocked counts promotion batches that found the course already claimed by another instance.
+ */
+public record WaitlistStatistics(long pending, long promoted, long batches, long skippedLocked,
+                                 long lastLagMillis, long maxLagMillis, double averageLagMillis) {
+}
@@ -0,0 +1,46 @@
+package com.example.assignment.entity;
+
+import com.example.assignment.service.ChangeTracker;
+import com.example.assignment.service.ChangeTracker.Table;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Reports the written entity's table to the {@link ChangeTracker}, which counts each table once per transaction
+ * after it commits.
+ * Bulk JPQL/SQL statements bypass entity listeners and must report their changes themselves.
+ */
+public class ChangeTrackingListener {
+
+    private final ObjectProvider<ChangeTracker> changeTracker;
+
+    public ChangeTrackingListener(ObjectProvider<ChangeTracker> changeTracker) {
+        this.changeTracker = changeTracker;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void entityChanged(Object entity) {
+        Table table = tableOf(entity);
+        changeTracker.ifAvailable(tracker -> tracker.changedAfterCommit(table));
+    }
+
+    private static Table tableOf(Object entity) {
+        if (entity instanceof Student) {
+            return Table.STUDENTS;
+        }
+        if (entity instanceof Teacher) {
+            return Table.TEACHERS;
+        }
+        if (entity instanceof Course) {
+            return Table.COURSES;
+        }
+        if (entity instanceof Department) {
+            return Table.DEPARTMENTS;
+        }
+        throw new IllegalArgumentException("Not a tracked entity: " + entity.getClass().getName());
+    }
+}
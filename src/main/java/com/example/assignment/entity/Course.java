@@ -3,15 +3,28 @@ package com.example.assignment.entity;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "courses")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "courses")
+@EntityListeners({TeacherCoursesCacheListener.class, SearchIndexListener.class, ChangeTrackingListener.class})
+@NamedEntityGraph(name = "Course.teacher", attributeNodes = @NamedAttributeNode("teacher"))
+@NamedEntityGraph(name = "Course.teacherAndStudents",
+        attributeNodes = {@NamedAttributeNode("teacher"), @NamedAttributeNode("students")})
 public class Course {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_seq")
+    @SequenceGenerator(name = "course_seq", sequenceName = "courses_seq", allocationSize = 50)
     private Long id;
+
+    // Optimistic lock; also what the resource's ETag is derived from
+    @Version
+    private Long version;
     
     @NotBlank(message = "Title is required")
     private String title;
@@ -20,6 +33,11 @@ public class Course {
     @Column(unique = true)
     private String courseCode;
 
+    // Maximum enrollments, null for unlimited. The seat counter itself (enrolled_count) is deliberately not
+    // mapped: only EnrollmentService's SQL touches it, so merges and cached copies can never overwrite it.
+    @PositiveOrZero(message = "Capacity cannot be negative")
+    private Integer capacity;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "teacher_id")
     @JsonIgnoreProperties({"courses", "department"})
@@ -33,6 +51,10 @@ public class Course {
         return id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -41,6 +63,10 @@ public class Course {
         return courseCode;
     }
 
+    public Integer getCapacity() {
+        return capacity;
+    }
+
     public Teacher getTeacher() {
         return teacher;
     }
@@ -53,6 +79,10 @@ public class Course {
         this.id = id;
     }
 
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public void setTitle(String title) {
         this.title = title;
     }
@@ -61,6 +91,10 @@ public class Course {
         this.courseCode = courseCode;
     }
 
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
     public void setTeacher(Teacher teacher) {
         this.teacher = teacher;
     }
@@ -1,34 +1,48 @@
 package com.example.assignment.entity;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "departments")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "departments")
+@EntityListeners(ChangeTrackingListener.class)
 public class Department {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "department_seq")
+    @SequenceGenerator(name = "department_seq", sequenceName = "departments_seq", allocationSize = 50)
     private Long id;
+
+    @Version
+    private Long version;
     
     @NotBlank(message = "Department name is required")
     @Column(unique = true)
     private String name;
 
+    // Members are served by the paginated /api/departments/{id}/students and /teachers sub-resources.
+    // Deleting the department goes through CascadingDeleteService, not this cascade.
     @OneToMany(mappedBy = "department", cascade = CascadeType.ALL)
-    @JsonIgnoreProperties({"department", "courses"})
+    @JsonIgnore
     private List<Student> students = new ArrayList<>();
 
     @OneToMany(mappedBy = "department", cascade = CascadeType.ALL)
-    @JsonIgnoreProperties({"department", "courses"})
+    @JsonIgnore
     private List<Teacher> teachers = new ArrayList<>();
 
     public Long getId() {
         return id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public String getName() {
         return name;
     }
@@ -45,6 +59,10 @@ public class Department {
         this.id = id;
     }
 
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public void setName(String name) {
         this.name = name;
     }
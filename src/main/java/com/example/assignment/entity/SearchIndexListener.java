@@ -0,0 +1,53 @@
+package com.example.assignment.entity;
+
+import com.example.assignment.service.SearchDocument;
+import com.example.assignment.service.SearchService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+
+/**
+ * Feeds student, teacher and course writes into the in-memory search index once they commit.
+ * The searchable fields are copied when the event fires, so a rolled back write leaves the index alone.
+ * Bulk JPQL/SQL statements bypass entity listeners; those that touch searchable fields publish
+ * SearchFieldsChangedEvent or SearchDocumentsRemovedEvent instead.
+ */
+public class SearchIndexListener {
+
+    private final ObjectProvider<SearchService> searchService;
+
+    public SearchIndexListener(ObjectProvider<SearchService> searchService) {
+        this.searchService = searchService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void entityWritten(Object entity) {
+        SearchDocument document = SearchDocument.of(entity);
+        afterCommit(service -> service.index(document));
+    }
+
+    @PostRemove
+    public void entityRemoved(Object entity) {
+        SearchDocument document = SearchDocument.of(entity);
+        afterCommit(service -> service.remove(document.type(), document.id()));
+    }
+
+    private void afterCommit(Consumer<SearchService> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            searchService.ifAvailable(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                searchService.ifAvailable(change);
+            }
+        });
+    }
+}
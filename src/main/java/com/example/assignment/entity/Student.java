@@ -8,10 +8,15 @@ import java.util.Set;
 
 @Entity
 @Table(name = "students")
+@EntityListeners({SearchIndexListener.class, ChangeTrackingListener.class})
 public class Student {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_seq")
+    @SequenceGenerator(name = "student_seq", sequenceName = "students_seq", allocationSize = 50) // pooled ids allow JDBC insert batching
     private Long id;
+
+    @Version
+    private Long version;
     
     @NotBlank(message = "Name is required")
     private String name;
@@ -38,6 +43,10 @@ public class Student {
         return id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public String getName() {
         return name;
     }
@@ -58,6 +67,10 @@ public class Student {
         this.id = id;
     }
 
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public void setName(String name) {
         this.name = name;
     }
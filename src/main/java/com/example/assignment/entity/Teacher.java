@@ -4,15 +4,23 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "teachers")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "teachers")
+@EntityListeners({SearchIndexListener.class, ChangeTrackingListener.class})
 public class Teacher {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "teacher_seq")
+    @SequenceGenerator(name = "teacher_seq", sequenceName = "teachers_seq", allocationSize = 50)
     private Long id;
+
+    @Version
+    private Long version;
     
     @NotBlank(message = "Name is required")
     private String name;
@@ -29,7 +37,9 @@ public class Teacher {
     @JsonIgnoreProperties({"students", "teachers"})
     private Department department;
 
+    // Inverse side of Course.teacher: TeacherCoursesCacheListener evicts it on course writes
     @OneToMany(mappedBy = "teacher", cascade = CascadeType.ALL)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "teacher-courses")
     @JsonIgnoreProperties({"teacher", "students"})
     private List<Course> courses = new ArrayList<>();
 
@@ -37,6 +47,10 @@ public class Teacher {
         return id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public String getName() {
         return name;
     }
@@ -57,6 +71,10 @@ public class Teacher {
         this.id = id;
     }
 
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public void setName(String name) {
         this.name = name;
     }
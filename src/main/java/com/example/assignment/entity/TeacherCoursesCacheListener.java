@@ -0,0 +1,48 @@
+package com.example.assignment.entity;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps the cached Teacher.courses collection in step with course writes.
+ * Teacher.courses is the inverse side of Course.teacher, so Hibernate never invalidates it
+ * on its own; the role is evicted once the writing transaction commits.
+ * Bulk JPQL/SQL statements bypass entity listeners and must evict explicitly.
+ */
+public class TeacherCoursesCacheListener {
+
+    private static final String ROLE = Teacher.class.getName() + ".courses";
+
+    // Resolved lazily: listeners are created while the EntityManagerFactory itself is being built
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    public TeacherCoursesCacheListener(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void courseWritten(Course course) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict();
+            }
+        });
+    }
+
+    private void evict() {
+        entityManagerFactory.getObject().unwrap(SessionFactory.class).getCache().evictCollectionData(ROLE);
+    }
+}
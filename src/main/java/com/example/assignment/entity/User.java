@@ -2,9 +2,12 @@ package com.example.assignment.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserCacheEvictionListener.class)
 public class User {
     
     @Id
@@ -21,11 +24,22 @@ public class User {
     
     @NotBlank
     @Column(nullable = false)
-    private String role; // ROLE_STUDENT or ROLE_TEACHER
+    private String role; // ROLE_STUDENT, ROLE_TEACHER or ROLE_ADMIN (flight recordings)
     
     @Column(nullable = false)
     private boolean enabled = true;
 
+    // Explicit links to the account's own records; deleting the record only unlinks the account
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", unique = true)
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    private Student student;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "teacher_id", unique = true)
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    private Teacher teacher;
+
     // Constructors
     public User() {}
 
@@ -76,4 +90,20 @@ public class User {
     public void setEnabled(boolean enabled) {
         this.enabled = enabled;
     }
+
+    public Student getStudent() {
+        return student;
+    }
+
+    public void setStudent(Student student) {
+        this.student = student;
+    }
+
+    public Teacher getTeacher() {
+        return teacher;
+    }
+
+    public void setTeacher(Teacher teacher) {
+        this.teacher = teacher;
+    }
 }
@@ -0,0 +1,59 @@
+package com.example.assignment.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * A student's place in a course's waitlist. Entries are written and promoted with set-based SQL
+ * (see WaitlistRepository), so they carry plain ids rather than associations.
+ */
+@Entity
+@Table(name = "course_waitlist")
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "requested_at", nullable = false)
+    private Instant requestedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public Instant getRequestedAt() {
+        return requestedAt;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public void setRequestedAt(Instant requestedAt) {
+        this.requestedAt = requestedAt;
+    }
+}
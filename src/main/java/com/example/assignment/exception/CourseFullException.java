@@ -0,0 +1,7 @@
+package com.example.assignment.exception;
+
+public class CourseFullException extends RuntimeException {
+    public CourseFullException(String message) {
+        super(message);
+    }
+}
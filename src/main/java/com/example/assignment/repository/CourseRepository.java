@@ -1,11 +1,142 @@
 package com.example.assignment.repository;
 
+import com.example.assignment.dto.CourseSummary;
 import com.example.assignment.entity.Course;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph("Course.teacher")
+    List<Course> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
 
-}
+    // Second step of a page load: initializes the enrollment sets of all listed courses in one query
+    @Query("select distinct c from Course c left join fetch c.students where c.id in :ids")
+    List<Course> fetchStudentsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Override
+    @EntityGraph("Course.teacherAndStudents")
+    Optional<Course> findById(Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+            select new com.example.assignment.dto.CourseSummary(c.id, c.courseCode, c.title, t.name, count(s))
+            from Course c left join c.teacher t left join c.students s
+            where c.id > :after
+            group by c.id, c.courseCode, c.title, t.name
+            order by c.id""")
+    List<CourseSummary> findSummariesAfter(@Param("after") Long after, Limit limit);
+
+    // Export cursor: rows arrive from the driver in fetch-size batches, read-only so no dirty-check snapshots are kept
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Course> streamAllByOrderByIdAsc();
+
+    // Enrollment writes go straight to the join table without loading Student.courses. One statement per call:
+    // unknown students are filtered by the join and existing enrollments skipped by ON CONFLICT.
+    // The native-spaces hint limits cache invalidation to query results that read the join table.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_course_enrollment"))
+    @Query(value = """
+            insert into student_course_enrollment (student_id, course_id)
+            select s.id, c.id from students s join courses c on c.id = :courseId
+            where s.id in (:studentIds)
+            on conflict do nothing""", nativeQuery = true)
+    int insertEnrollments(@Param("courseId") Long courseId, @Param("studentIds") Collection<Long> studentIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_course_enrollment"))
+    @Query(value = "delete from student_course_enrollment where course_id = :courseId and student_id in (:studentIds)",
+            nativeQuery = true)
+    int deleteEnrollments(@Param("courseId") Long courseId, @Param("studentIds") Collection<Long> studentIds);
+
+    // Claims seats atomically: the row lock taken by the UPDATE serializes only this course's enrollments,
+    // and a full course matches no row instead of going negative on seats
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_course_enrollment"))
+    @Query(value = """
+            update courses set enrolled_count = enrolled_count + :seats
+            where id = :courseId and (capacity is null or enrolled_count + :seats <= capacity)""", nativeQuery = true)
+    int claimSeats(@Param("courseId") Long courseId, @Param("seats") int seats);
+
+    // Same as claimSeats, but also refuses while anyone is on the course's waitlist so a free seat
+    // goes to the queue head (WaitlistPromoter) rather than to whoever asks first
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_course_enrollment"))
+    @Query(value = """
+            update courses set enrolled_count = enrolled_count + :seats
+            where id = :courseId and (capacity is null or enrolled_count + :seats <= capacity)
+              and not exists (select 1 from course_waitlist w where w.course_id = :courseId)""", nativeQuery = true)
+    int claimSeatsAheadOfWaitlist(@Param("courseId") Long courseId, @Param("seats") int seats);
+
+    // Locks the course row for the rest of the transaction and returns its free seats (unlimited reads as
+    // :unlimited); empty when the course is gone or another transaction holds the lock, which is skipped
+    // rather than waited for
+    @Query(value = """
+            select case when capacity is null then :unlimited else capacity - enrolled_count end
+            from courses where id = :courseId for update skip locked""", nativeQuery = true)
+    Optional<Integer> lockFreeSeats(@Param("courseId") Long courseId, @Param("unlimited") int unlimited);
 
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_course_enrollment"))
+    @Query(value = "update courses set enrolled_count = enrolled_count - :seats where id = :courseId", nativeQuery = true)
+    int releaseSeats(@Param("courseId") Long courseId, @Param("seats") int seats);
+
+    // Gives back the seats the given students hold, ahead of deleting them
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_course_enrollment"))
+    @Query(value = """
+            update courses set enrolled_count = enrolled_count - (select count(*) from student_course_enrollment e
+                where e.course_id = courses.id and e.student_id in (:studentIds))
+            where id in (select course_id from student_course_enrollment where student_id in (:studentIds))""",
+            nativeQuery = true)
+    int releaseSeatsOfStudents(@Param("studentIds") Collection<Long> studentIds);
+
+    // PATCH in one statement: null parameters keep the column, a non-null version must still match
+    @Modifying
+    @Query("""
+            update Course c set c.title = coalesce(:title, c.title), c.courseCode = coalesce(:courseCode, c.courseCode),
+                c.capacity = coalesce(:capacity, c.capacity), c.version = c.version + 1
+            where c.id = :id and (:version is null or c.version = :version)""")
+    int patch(@Param("id") Long id, @Param("title") String title, @Param("courseCode") String courseCode,
+              @Param("capacity") Integer capacity, @Param("version") Long version);
+
+    // Hibernate deletes the course's enrollment rows first; the waitlist goes with it by FK
+    @Modifying
+    @Query("delete from Course c where c.id = :id")
+    int removeById(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from Course c where c.id in :ids")
+    int removeByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Next batches of the cascading teacher and department deletes, which remove the rows they return
+    @Query("select c.id from Course c where c.teacher.id = :teacherId order by c.id")
+    List<Long> findIdsByTeacherId(@Param("teacherId") Long teacherId, Limit limit);
+
+    @Query("select c.id from Course c where c.teacher.department.id = :departmentId order by c.id")
+    List<Long> findIdsByTeacherDepartmentId(@Param("departmentId") Long departmentId, Limit limit);
+
+    @Query(value = "select count(*) > 0 from student_course_enrollment where student_id = :studentId and course_id = :courseId",
+            nativeQuery = true)
+    boolean isEnrolled(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+
+    @Query(value = "select course_id from student_course_enrollment where student_id = :studentId", nativeQuery = true)
+    List<Long> findCourseIdsByStudentId(@Param("studentId") Long studentId);
+}
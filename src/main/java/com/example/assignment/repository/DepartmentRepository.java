@@ -1,9 +1,52 @@
 package com.example.assignment.repository;
 
+import com.example.assignment.dto.DepartmentEnrollment;
+import com.example.assignment.dto.DepartmentOverview;
 import com.example.assignment.entity.Department;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
-}
\ No newline at end of file
+    // Correlated counts rather than joining all three tables, which would multiply students x teachers x courses
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+            select new com.example.assignment.dto.DepartmentOverview(d.id, d.name,
+                (select count(s) from Student s where s.department = d),
+                (select count(t) from Teacher t where t.department = d),
+                (select count(c) from Course c where c.teacher.department = d))
+            from Department d
+            where d.id > :after
+            order by d.id""")
+    List<DepartmentOverview> findOverviewsAfter(@Param("after") Long after, Limit limit);
+
+    // Departments are reference data and few, so this is not paginated
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+            select new com.example.assignment.dto.DepartmentEnrollment(d.id, d.name,
+                (select count(c) from Student s join s.courses c where s.department = d))
+            from Department d
+            order by d.id""")
+    List<DepartmentEnrollment> findEnrollmentCounts();
+
+    // Last step of the cascading delete, once no student or teacher refers to the department
+    @Modifying
+    @Query("delete from Department d where d.id = :id")
+    int removeById(@Param("id") Long id);
+
+    // PATCH in one statement: a non-null version must still match
+    @Modifying
+    @Query("""
+            update Department d set d.name = :name, d.version = d.version + 1
+            where d.id = :id and (:version is null or d.version = :version)""")
+    int patch(@Param("id") Long id, @Param("name") String name, @Param("version") Long version);
+}
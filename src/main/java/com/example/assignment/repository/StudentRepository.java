@@ -1,12 +1,60 @@
 package com.example.assignment.repository;
 
 import com.example.assignment.entity.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, JpaSpecificationExecutor<Student> {
     List<Student> findByName(String name);
+
+    // Keyset pagination: seeks on the primary key index instead of OFFSET scanning
+    List<Student> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    List<Student> findByDepartmentIdAndIdGreaterThanOrderByIdAsc(Long departmentId, Long after, Limit limit);
+
+    // PATCH in one statement: null parameters keep the column, a non-null version must still match
+    @Modifying
+    @Query("""
+            update Student s set s.name = coalesce(:name, s.name), s.studentId = coalesce(:studentId, s.studentId),
+                s.version = s.version + 1
+            where s.id = :id and (:version is null or s.version = :version)""")
+    int patch(@Param("id") Long id, @Param("name") String name, @Param("studentId") String studentId,
+              @Param("version") Long version);
+
+    // Hibernate clears the student's enrollment rows first; waitlist entries and account links follow by FK
+    @Modifying
+    @Query("delete from Student s where s.id = :id")
+    int removeById(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from Student s where s.id in :ids")
+    int removeByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Next batch of a cascading department delete, which removes the rows it returns
+    @Query("select s.id from Student s where s.department.id = :departmentId order by s.id")
+    List<Long> findIdsByDepartmentId(@Param("departmentId") Long departmentId, Limit limit);
+
+    // Rows of the student_course_enrollment join table
+    @Query("select count(c) from Student s join s.courses c")
+    long countEnrollments();
+
+    // Export cursor: rows arrive from the driver in fetch-size batches, read-only so no dirty-check snapshots are kept
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Student> streamAllByOrderByIdAsc();
 }
@@ -0,0 +1,76 @@
+package com.example.assignment.repository;
+
+import com.example.assignment.dto.StudentFilter;
+import com.example.assignment.entity.Student;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Predicates for {@link StudentFilter}. Composed with {@link Specification#and} they render as a single
+ * WHERE clause, each one shaped to use an index from the migrations: (department_id, id), the enrollment
+ * (course_id, student_id) index, the name pattern index and the unique student_id index.
+ */
+public final class StudentSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private StudentSpecifications() {
+    }
+
+    public static Specification<Student> matching(StudentFilter filter) {
+        return Specification.allOf(
+                inDepartment(filter.departmentId()),
+                enrolledIn(filter.courseId()),
+                nameStartsWith(filter.namePrefix()),
+                studentIdBetween(filter.studentIdFrom(), filter.studentIdTo()));
+    }
+
+    // Keyset cursor: seeks past the last id of the previous page
+    public static Specification<Student> idAfter(long after) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), after);
+    }
+
+    public static Specification<Student> inDepartment(Long departmentId) {
+        if (departmentId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("department").get("id"), departmentId);
+    }
+
+    // An inner join on the enrollment table; (student_id, course_id) is unique so it cannot duplicate rows
+    public static Specification<Student> enrolledIn(Long courseId) {
+        if (courseId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.join("courses", JoinType.INNER).get("id"), courseId);
+    }
+
+    public static Specification<Student> nameStartsWith(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return null;
+        }
+        String pattern = escapeLike(prefix) + "%";
+        return (root, query, cb) -> cb.like(root.get("name"), pattern, LIKE_ESCAPE);
+    }
+
+    public static Specification<Student> studentIdBetween(String from, String to) {
+        Specification<Student> lower = from == null || from.isEmpty() ? null
+                : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("studentId"), from);
+        Specification<Student> upper = to == null || to.isEmpty() ? null
+                : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("studentId"), to);
+        return Specification.allOf(lower, upper);
+    }
+
+    // The prefix is matched literally: % and _ typed by the caller are not wildcards
+    static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
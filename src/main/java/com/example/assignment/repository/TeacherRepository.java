@@ -1,9 +1,49 @@
 package com.example.assignment.repository;
 
 import com.example.assignment.entity.Teacher;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface TeacherRepository extends JpaRepository<Teacher, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Teacher> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    List<Teacher> findByDepartmentIdAndIdGreaterThanOrderByIdAsc(Long departmentId, Long after, Limit limit);
+
+    // Export cursor: rows arrive from the driver in fetch-size batches, read-only so no dirty-check snapshots are kept
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Teacher> streamAllByOrderByIdAsc();
+
+    // Next batch of a cascading department delete, which removes the rows it returns
+    @Query("select t.id from Teacher t where t.department.id = :departmentId order by t.id")
+    List<Long> findIdsByDepartmentId(@Param("departmentId") Long departmentId, Limit limit);
+
+    // Bulk delete; the teachers' courses must be gone already
+    @Modifying
+    @Query("delete from Teacher t where t.id in :ids")
+    int removeByIdIn(@Param("ids") Collection<Long> ids);
+
+    // PATCH in one statement: null parameters keep the column, a non-null version must still match
+    @Modifying
+    @Query("""
+            update Teacher t set t.name = coalesce(:name, t.name), t.email = coalesce(:email, t.email),
+                t.teacherId = coalesce(:teacherId, t.teacherId), t.version = t.version + 1
+            where t.id = :id and (:version is null or t.version = :version)""")
+    int patch(@Param("id") Long id, @Param("name") String name, @Param("email") String email,
+              @Param("teacherId") String teacherId, @Param("version") Long version);
 }
@@ -0,0 +1,65 @@
+package com.example.assignment.repository;
+
+import com.example.assignment.entity.WaitlistEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    // Queue head, served by ix_waitlist_course_id
+    List<WaitlistEntry> findByCourseIdOrderByIdAsc(Long courseId, Limit limit);
+
+    @Modifying
+    @Query(value = """
+            insert into course_waitlist (course_id, student_id, requested_at)
+            values (:courseId, :studentId, :requestedAt)
+            on conflict do nothing""", nativeQuery = true)
+    int join(@Param("courseId") Long courseId, @Param("studentId") Long studentId,
+             @Param("requestedAt") Instant requestedAt);
+
+    @Modifying
+    @Query(value = "delete from course_waitlist where course_id = :courseId and student_id = :studentId",
+            nativeQuery = true)
+    int leave(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+
+    // 1-based place in the queue, 0 when the student is not waiting for this course
+    @Query(value = """
+            select count(*) from course_waitlist w
+            where w.course_id = :courseId
+              and w.id <= (select m.id from course_waitlist m where m.course_id = :courseId and m.student_id = :studentId)""",
+            nativeQuery = true)
+    long findPosition(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+
+    // Courses where a seat is free and someone is waiting for it
+    @Query(value = """
+            select c.id from courses c
+            where (c.capacity is null or c.enrolled_count < c.capacity)
+              and exists (select 1 from course_waitlist w where w.course_id = c.id)
+            order by c.id""", nativeQuery = true)
+    List<Long> findCourseIdsReadyForPromotion();
+
+    // Moves the given entries into the enrollment table; ones already enrolled are skipped
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_course_enrollment"))
+    @Query(value = """
+            insert into student_course_enrollment (student_id, course_id)
+            select w.student_id, w.course_id from course_waitlist w where w.id in (:ids)
+            on conflict do nothing""", nativeQuery = true)
+    int enrollEntries(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "delete from course_waitlist where id in (:ids)", nativeQuery = true)
+    int deleteEntries(@Param("ids") Collection<Long> ids);
+}
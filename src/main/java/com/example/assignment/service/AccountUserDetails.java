@@ -0,0 +1,44 @@
+package com.example.assignment.service;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+
+/**
+ * Security principal that also carries the ids of the Student and Teacher records linked to the account,
+ * resolved once at login so per-request code can load the caller's record by primary key.
+ */
+public class AccountUserDetails extends User {
+
+    private final Long studentId;
+    private final Long teacherId;
+
+    public AccountUserDetails(String username, String password, boolean enabled,
+                              Collection<? extends GrantedAuthority> authorities,
+                              Long studentId, Long teacherId) {
+        super(username, password, enabled, true, true, true, authorities);
+        this.studentId = studentId;
+        this.teacherId = teacherId;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public Long getTeacherId() {
+        return teacherId;
+    }
+
+    /**
+     * Copy with another password, keeping the linked ids; plain {@code User.withUserDetails} would drop them.
+     */
+    public static UserDetails copyOf(UserDetails user, String password) {
+        if (user instanceof AccountUserDetails account) {
+            return new AccountUserDetails(account.getUsername(), password, account.isEnabled(),
+                    account.getAuthorities(), account.getStudentId(), account.getTeacherId());
+        }
+        return User.withUserDetails(user).password(password).build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.assignment.service;
+
+import com.example.assignment.dto.BulkItemResult;
+import com.example.assignment.dto.BulkResult;
+import com.example.assignment.exception.BadRequestException;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Validates and inserts large batches of entities in chunks, one transaction per chunk.
+ * Inserts within a chunk are grouped into JDBC batches by Hibernate (hibernate.jdbc.batch_size),
+ * which relies on the entities using pooled sequence ids rather than IDENTITY columns.
+ */
+@Service
+public class BulkInsertService {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxItems;
+
+    public BulkInsertService(EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             Validator validator,
+                             @Value("${app.bulk.chunk-size:1000}") int chunkSize,
+                             @Value("${app.bulk.max-items:50000}") int maxItems) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+    }
+
+    public <T> BulkResult insertAll(List<T> items, Function<T, Long> idOf, BiConsumer<T, Long> setId) {
+        if (items.size() > maxItems) {
+            throw new BadRequestException("Bulk request has " + items.size() + " items, the limit is " + maxItems);
+        }
+
+        BulkItemResult[] results = new BulkItemResult[items.size()];
+        List<Integer> valid = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            Map<String, String> errors = validate(items.get(i));
+            if (errors.isEmpty()) {
+                valid.add(i);
+            } else {
+                results[i] = BulkItemResult.invalid(i, errors);
+            }
+        }
+
+        for (int from = 0; from < valid.size(); from += chunkSize) {
+            List<Integer> chunk = valid.subList(from, Math.min(from + chunkSize, valid.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> persist(items, chunk));
+                chunk.forEach(i -> results[i] = BulkItemResult.created(i, idOf.apply(items.get(i))));
+            } catch (RuntimeException chunkFailure) {
+                // One bad row (e.g. a duplicate key) rolls back its whole chunk; retry row by row to pinpoint it
+                for (int i : chunk) {
+                    T item = items.get(i);
+                    setId.accept(item, null);
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> persist(items, List.of(i)));
+                        results[i] = BulkItemResult.created(i, idOf.apply(item));
+                    } catch (RuntimeException rowFailure) {
+                        setId.accept(item, null);
+                        results[i] = BulkItemResult.failed(i, NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                    }
+                }
+            }
+        }
+        return BulkResult.of(Arrays.asList(results));
+    }
+
+    private <T> void persist(List<T> items, List<Integer> indexes) {
+        for (int i : indexes) {
+            entityManager.persist(items.get(i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private <T> Map<String, String> validate(T item) {
+        if (item == null) {
+            return Map.of("item", "must not be null");
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(item);
+        Map<String, String> errors = new HashMap<>();
+        violations.forEach(violation -> errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        return errors;
+    }
+}
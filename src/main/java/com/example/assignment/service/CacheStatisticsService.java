@@ -0,0 +1,42 @@
+package com.example.assignment.service;
+
+import com.example.assignment.config.CacheRegionProperties;
+import com.example.assignment.dto.CacheRegionStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+public class CacheStatisticsService {
+
+    private final SessionFactory sessionFactory;
+    private final CacheRegionProperties cacheRegionProperties;
+    private final UserDetailsCache userDetailsCache;
+
+    public CacheStatisticsService(EntityManagerFactory entityManagerFactory,
+                                  CacheRegionProperties cacheRegionProperties,
+                                  UserDetailsCache userDetailsCache) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.cacheRegionProperties = cacheRegionProperties;
+        this.userDetailsCache = userDetailsCache;
+    }
+
+    public Map<String, CacheRegionStats> getRegionStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        Map<String, CacheRegionStats> regions = new TreeMap<>();
+        for (String region : cacheRegionProperties.regions().keySet()) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats != null) {
+                regions.put(region, new CacheRegionStats(stats.getHitCount(), stats.getMissCount(),
+                        stats.getPutCount(), stats.getElementCountInMemory()));
+            }
+        }
+        regions.put("user-details", userDetailsCache.getStatistics());
+        return regions;
+    }
+}
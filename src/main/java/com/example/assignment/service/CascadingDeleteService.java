@@ -0,0 +1,162 @@
+package com.example.assignment.service;
+
+import com.example.assignment.dto.SearchType;
+import com.example.assignment.exception.BadRequestException;
+import com.example.assignment.repository.CourseRepository;
+import com.example.assignment.repository.DepartmentRepository;
+import com.example.assignment.repository.StudentRepository;
+import com.example.assignment.repository.TeacherRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import static com.example.assignment.service.ChangeTracker.Table.*;
+
+/**
+ * Deletes a department or teacher together with everything that depends on it, using set-based statements
+ * in dependency order instead of the entity cascade, which loads and deletes every row one by one:
+ * a department's students (their seats given back, enrollment rows cleared), then the courses its teachers
+ * give (with their enrollments and, by FK, waitlists), then the teachers, then the department itself.
+ *
+ * Rows go in id batches of at most {@code app.bulk.chunk-size}, which bounds the bind parameters per statement.
+ * By default everything is one transaction, so the delete is all or nothing. Given a chunk size, each batch of
+ * that many rows commits on its own and row locks are held only that long, so enrollment traffic is not
+ * blocked behind a large department; an interrupted chunked delete leaves the rest in place and can simply be
+ * repeated. A row added meanwhile that still refers to the department or teacher makes the final statement
+ * fail with a constraint violation.
+ *
+ * Bulk statements bypass the entity listeners, so each batch reports its tables to the {@link ChangeTracker}
+ * and its ids to the search index itself. Seats freed in surviving courses are picked up by the waitlist sweep.
+ */
+@Service
+public class CascadingDeleteService {
+
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final CourseRepository courseRepository;
+    private final DepartmentRepository departmentRepository;
+    private final ChangeTracker changeTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxChunkSize;
+
+    public CascadingDeleteService(StudentRepository studentRepository,
+                                  TeacherRepository teacherRepository,
+                                  CourseRepository courseRepository,
+                                  DepartmentRepository departmentRepository,
+                                  ChangeTracker changeTracker,
+                                  ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.bulk.chunk-size:1000}") int chunkSize) {
+        this.studentRepository = studentRepository;
+        this.teacherRepository = teacherRepository;
+        this.courseRepository = courseRepository;
+        this.departmentRepository = departmentRepository;
+        this.changeTracker = changeTracker;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxChunkSize = chunkSize;
+    }
+
+    /**
+     * @param chunkSize rows per committed batch, or null for a single transaction
+     * @return false if there is no such department
+     */
+    public boolean deleteDepartment(Long departmentId, Integer chunkSize) {
+        return cascade(chunkSize, () -> deleteDepartmentRow(departmentId),
+                new Step(limit -> studentRepository.findIdsByDepartmentId(departmentId, limit), this::deleteStudents),
+                new Step(limit -> courseRepository.findIdsByTeacherDepartmentId(departmentId, limit),
+                        this::deleteCourses),
+                new Step(limit -> teacherRepository.findIdsByDepartmentId(departmentId, limit), this::deleteTeachers));
+    }
+
+    /**
+     * @param chunkSize courses per committed batch, or null for a single transaction
+     * @return false if there is no such teacher
+     */
+    public boolean deleteTeacher(Long teacherId, Integer chunkSize) {
+        return cascade(chunkSize, () -> deleteTeachers(List.of(teacherId)) > 0,
+                new Step(limit -> courseRepository.findIdsByTeacherId(teacherId, limit), this::deleteCourses));
+    }
+
+    private boolean cascade(Integer chunkSize, BooleanSupplier deleteRoot, Step... steps) {
+        if (chunkSize == null) {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                for (Step step : steps) {
+                    while (step.deleteBatch(maxChunkSize)) {
+                        // next batch
+                    }
+                }
+                return deleteRoot.getAsBoolean();
+            }));
+        }
+        if (chunkSize < 1 || chunkSize > maxChunkSize) {
+            throw new BadRequestException("chunkSize must be between 1 and " + maxChunkSize);
+        }
+        for (Step step : steps) {
+            while (Boolean.TRUE.equals(transactionTemplate.execute(status -> step.deleteBatch(chunkSize)))) {
+                // next batch, in a new transaction
+            }
+        }
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> deleteRoot.getAsBoolean()));
+    }
+
+    private int deleteStudents(List<Long> ids) {
+        courseRepository.releaseSeatsOfStudents(ids);
+        int rows = studentRepository.removeByIdIn(ids);
+        changed(SearchType.STUDENT, ids, STUDENTS, ENROLLMENTS);
+        return rows;
+    }
+
+    private int deleteCourses(List<Long> ids) {
+        int rows = courseRepository.removeByIdIn(ids);
+        changed(SearchType.COURSE, ids, COURSES, ENROLLMENTS);
+        return rows;
+    }
+
+    private int deleteTeachers(List<Long> ids) {
+        int rows = teacherRepository.removeByIdIn(ids);
+        if (rows > 0) {
+            changed(SearchType.TEACHER, ids, TEACHERS);
+        }
+        return rows;
+    }
+
+    private boolean deleteDepartmentRow(Long departmentId) {
+        if (departmentRepository.removeById(departmentId) == 0) {
+            return false;
+        }
+        changeTracker.changedAfterCommit(DEPARTMENTS);
+        return true;
+    }
+
+    private void changed(SearchType type, List<Long> ids, ChangeTracker.Table... tables) {
+        for (ChangeTracker.Table table : tables) {
+            changeTracker.changedAfterCommit(table);
+        }
+        eventPublisher.publishEvent(new SearchDocumentsRemovedEvent(type, ids));
+    }
+
+    /**
+     * One level of the cascade: selects the next batch of dependent ids and deletes those rows.
+     */
+    private record Step(Function<Limit, List<Long>> nextIds, ToIntFunction<List<Long>> delete) {
+
+        // Deleted rows drop out of the next select, so this just takes the first batch again
+        boolean deleteBatch(int size) {
+            List<Long> ids = nextIds.apply(Limit.of(size));
+            if (!ids.isEmpty()) {
+                delete.applyAsInt(ids);
+            }
+            return ids.size() == size;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.assignment.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Per-table versions that the JSON resources derive their ETags from, so a conditional GET can be answered
+ * with 304 before any query runs or any JSON is written.
+ *
+ * The versions are shared by every instance ({@link TableVersions}). A transaction's writes are collected
+ * into one set of tables and published after commit, off the writing thread: all writes waiting at that
+ * moment go out as one bump per table, on one connection at a time, so neither a bulk insert nor a busy
+ * pool pays a version update per row. A reader takes the tag before it queries, so it can at worst pair
+ * fresh data with an old tag (one extra 200 later), never old data with a new tag. Entity writes are
+ * reported by {@link com.example.assignment.entity.ChangeTrackingListener}; native statements report
+ * themselves.
+ *
+ * Tags are built from a local copy of the versions. Until its bump is published, a table written here is
+ * tagged with a local count under this instance's random epoch, so the tag moves at commit. A write on
+ * another instance is seen once the copy is re-read, at most max-staleness after the last read: that is
+ * how long another instance may still answer 304. A failed publish is logged and retried with the next one.
+ */
+@Component
+public class ChangeTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeTracker.class);
+
+    public enum Table {
+        DEPARTMENTS, STUDENTS, TEACHERS, COURSES, ENROLLMENTS
+    }
+
+    private final TableVersions tableVersions;
+    private final Executor publisher;
+    private final long maxStalenessNanos;
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final List<Consumer<Table>> listeners = new CopyOnWriteArrayList<>();
+
+    // Shared versions as last read or bumped
+    private final AtomicLongArray versions = new AtomicLongArray(Table.values().length);
+    // Committed local writes, and how many of them the shared versions already cover
+    private final AtomicLongArray written = new AtomicLongArray(Table.values().length);
+    private final AtomicLongArray published = new AtomicLongArray(Table.values().length);
+
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private final Set<Table> unpublished = EnumSet.noneOf(Table.class); // guarded by publishLock
+    private boolean publishing; // guarded by publishLock
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile long readAt;
+    private volatile boolean read;
+
+    public ChangeTracker(TableVersions tableVersions,
+                         @Qualifier("tableVersionsPublisher") Executor publisher,
+                         @Value("${app.change-tracker.max-staleness:1s}") Duration maxStaleness) {
+        this.tableVersions = tableVersions;
+        this.publisher = publisher;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+    }
+
+    public void changed(Table table) {
+        changed(EnumSet.of(table));
+    }
+
+    // Called once per committed transaction and table, on the writing thread, and for writes of other
+    // instances once they are read
+    public void onChange(Consumer<Table> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Counts the change once the surrounding transaction commits; a rollback leaves the tags alone. All the
+     * tables a transaction touches are collected by one synchronization and reported together.
+     */
+    public void changedAfterCommit(Table table) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changed(table);
+            return;
+        }
+        // Synchronizations are suspended along with their transaction, so this finds only the current one's
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof TablesChanged pending && pending.tracker() == this) {
+                pending.tables.add(table);
+                return;
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TablesChanged(table));
+    }
+
+    // Tag of a listing whose JSON is built from rows of the given tables
+    public String tag(Table... tables) {
+        refreshIfStale();
+        StringBuilder tag = new StringBuilder("t");
+        for (Table table : tables) {
+            int i = table.ordinal();
+            long writes = written.get(i);
+            tag.append('.').append(versions.get(i));
+            if (writes != published.get(i)) {
+                tag.append('~').append(epoch).append(writes);
+            }
+        }
+        return tag.toString();
+    }
+
+    /**
+     * Tag of one entity: its version, plus the tables its JSON embeds rows of (a course's teacher and
+     * students, say). Without embedded tables the tag is the version alone and stable across restarts.
+     */
+    public String entityTag(Long version, Table... embedded) {
+        String tag = "v" + version;
+        return embedded.length == 0 ? tag : tag + "-" + tag(embedded);
+    }
+
+    private void changed(Set<Table> tables) {
+        tables.forEach(table -> written.incrementAndGet(table.ordinal()));
+        publishLock.lock();
+        try {
+            unpublished.addAll(tables);
+            if (!publishing) {
+                publishing = true;
+                publisher.execute(this::publish);
+            }
+        } catch (RuntimeException e) {
+            // The write has committed: a rejected publish (say, at shutdown) must not fail it
+            publishing = false;
+            log.warn("Could not schedule publishing the versions of {}", tables, e);
+        } finally {
+            publishLock.unlock();
+        }
+        tables.forEach(table -> listeners.forEach(listener -> listener.accept(table)));
+    }
+
+    // Runs until no write is waiting; only one run at a time, so publishing holds at most one connection
+    private void publish() {
+        while (true) {
+            Set<Table> tables;
+            long[] covered = new long[Table.values().length];
+            publishLock.lock();
+            try {
+                if (unpublished.isEmpty()) {
+                    publishing = false;
+                    return;
+                }
+                tables = EnumSet.copyOf(unpublished);
+                unpublished.clear();
+            } finally {
+                publishLock.unlock();
+            }
+            tables.forEach(table -> covered[table.ordinal()] = written.get(table.ordinal()));
+            try {
+                tableVersions.bump(tables).forEach((table, version) -> {
+                    versions.accumulateAndGet(table.ordinal(), version, Math::max);
+                    published.accumulateAndGet(table.ordinal(), covered[table.ordinal()], Math::max);
+                });
+            } catch (RuntimeException e) {
+                log.warn("Could not publish the versions of {}; other instances may serve them stale", tables, e);
+                publishLock.lock();
+                try {
+                    unpublished.addAll(tables); // retried with the next publish
+                    publishing = false;
+                } finally {
+                    publishLock.unlock();
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * One caller re-reads the shared versions while the others tag from the current copy instead of waiting
+     * on the database. Only the very first read, when there is no copy yet, is waited for.
+     */
+    private void refreshIfStale() {
+        if (read && System.nanoTime() - readAt < maxStalenessNanos) {
+            return;
+        }
+        if (read) {
+            if (!refreshLock.tryLock()) {
+                return;
+            }
+        } else {
+            refreshLock.lock();
+        }
+        try {
+            long now = System.nanoTime();
+            if (read && now - readAt < maxStalenessNanos) {
+                return;
+            }
+            Map<Table, Long> shared = tableVersions.readAll();
+            shared.forEach((table, version) -> {
+                if (versions.getAndAccumulate(table.ordinal(), version, Math::max) < version && read) {
+                    listeners.forEach(listener -> listener.accept(table)); // written by another instance
+                }
+            });
+            readAt = now;
+            read = true;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private final class TablesChanged implements TransactionSynchronization {
+
+        private final Set<Table> tables;
+
+        TablesChanged(Table table) {
+            this.tables = EnumSet.of(table);
+        }
+
+        ChangeTracker tracker() {
+            return ChangeTracker.this;
+        }
+
+        @Override
+        public void afterCommit() {
+            changed(tables);
+        }
+    }
+}
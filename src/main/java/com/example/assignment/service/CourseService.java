@@ -1,27 +1,85 @@
 package com.example.assignment.service;
 
+import com.example.assignment.dto.BulkResult;
+import com.example.assignment.dto.CourseSummary;
+import com.example.assignment.dto.CoursePatch;
+import com.example.assignment.dto.CursorPage;
+import com.example.assignment.dto.SearchType;
 import com.example.assignment.entity.Course;
 import com.example.assignment.repository.CourseRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
+@Timed("app.service")
 @Transactional
 public class CourseService {
 
     private final CourseRepository courseRepository;
+    private final EntityManager entityManager;
+    private final BulkInsertService bulkInsertService;
+    private final ChangeTracker changeTracker;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CourseService(CourseRepository courseRepository) {
+    public CourseService(CourseRepository courseRepository, EntityManager entityManager,
+                         BulkInsertService bulkInsertService, ChangeTracker changeTracker,
+                         ApplicationEventPublisher eventPublisher) {
         this.courseRepository = courseRepository;
+        this.entityManager = entityManager;
+        this.bulkInsertService = bulkInsertService;
+        this.changeTracker = changeTracker;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<Course> findAllCourses() {
         return courseRepository.findAll();
     }
 
+    /**
+     * Loads a page of courses with their teacher joined and their enrollment sets
+     * initialized by a single follow-up query, so serialization issues no further selects.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Course> findCoursesAfter(long after, int limit) {
+        List<Course> rows = courseRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit + 1));
+        CursorPage<Course> page = CursorPage.of(rows, limit, Course::getId);
+        if (!page.items().isEmpty()) {
+            courseRepository.fetchStudentsByIdIn(page.items().stream().map(Course::getId).toList());
+        }
+        return page;
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<CourseSummary> findCourseSummariesAfter(long after, int limit) {
+        List<CourseSummary> rows = courseRepository.findSummariesAfter(after, Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, CourseSummary::id);
+    }
+
+    // Same streaming contract as StudentService.exportStudents
+    @Transactional(readOnly = true)
+    public void exportCourses(ExportFormat format, OutputStream out) {
+        ExportWriter writer = new ExportWriter(format, out, "id", "courseCode", "title", "teacherId");
+        try (Stream<Course> courses = courseRepository.streamAllByOrderByIdAsc()) {
+            courses.forEach(course -> {
+                if (writer.writeRow(course.getId(), course.getCourseCode(), course.getTitle(),
+                        course.getTeacher() != null ? course.getTeacher().getId() : null)) {
+                    entityManager.clear();
+                }
+            });
+        }
+        writer.flush();
+    }
+
     public Optional<Course> findById(Long id) {
         return courseRepository.findById(id);
     }
@@ -30,6 +88,11 @@ public class CourseService {
         return courseRepository.save(course);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkResult saveCoursesInBulk(List<Course> courses) {
+        return bulkInsertService.insertAll(courses, Course::getId, Course::setId);
+    }
+
     public void addCourseFromUI(String title, String courseCode) {
         Course newCourse = new Course();
         newCourse.setTitle(title);
@@ -37,8 +100,36 @@ public class CourseService {
         courseRepository.save(newCourse);
     }
 
-    public void deleteCourse(Long id) {
-        courseRepository.deleteById(id);
+    /**
+     * Applies the non-null fields of {@code patch} with one UPDATE, without loading the course.
+     * A new capacity may free seats, so the waitlist is promoted after commit.
+     *
+     * @return false if there is no such course
+     */
+    public boolean patchCourse(Long id, CoursePatch patch) {
+        PartialUpdates.requireAnyField(patch.title(), patch.courseCode(), patch.capacity());
+        int rows = courseRepository.patch(id, patch.title(), patch.courseCode(), patch.capacity(), patch.version());
+        if (!PartialUpdates.updated(rows, Course.class, id, patch.version(), courseRepository::existsById)) {
+            return false;
+        }
+        changeTracker.changedAfterCommit(ChangeTracker.Table.COURSES);
+        eventPublisher.publishEvent(new SearchFieldsChangedEvent(SearchType.COURSE, id, patch.title(),
+                patch.courseCode(), null));
+        if (patch.capacity() != null) {
+            eventPublisher.publishEvent(new SeatsFreedEvent(id));
+        }
+        return true;
+    }
+
+    // Without loading the course: its enrollment rows, then the course row; the students are unenrolled
+    public boolean deleteCourse(Long id) {
+        if (courseRepository.removeById(id) == 0) {
+            return false;
+        }
+        changeTracker.changedAfterCommit(ChangeTracker.Table.COURSES);
+        changeTracker.changedAfterCommit(ChangeTracker.Table.ENROLLMENTS);
+        eventPublisher.publishEvent(new SearchDocumentsRemovedEvent(SearchType.COURSE, List.of(id)));
+        return true;
     }
 
     public boolean existsById(Long id) {
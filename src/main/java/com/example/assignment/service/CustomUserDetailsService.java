@@ -24,14 +24,13 @@ public class CustomUserDetailsService implements UserDetailsService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
-        return org.springframework.security.core.userdetails.User
-                .withUsername(user.getUsername())
-                .password(user.getPassword())
-                .authorities(Collections.singletonList(new SimpleGrantedAuthority(user.getRole())))
-                .accountExpired(false)
-                .accountLocked(false)
-                .credentialsExpired(false)
-                .disabled(!user.isEnabled())
-                .build();
+        // Linked ids come from the users row's foreign keys; getId() on a lazy proxy does not hit the database
+        return new AccountUserDetails(
+                user.getUsername(),
+                user.getPassword(),
+                user.isEnabled(),
+                Collections.singletonList(new SimpleGrantedAuthority(user.getRole())),
+                user.getStudent() == null ? null : user.getStudent().getId(),
+                user.getTeacher() == null ? null : user.getTeacher().getId());
     }
 }
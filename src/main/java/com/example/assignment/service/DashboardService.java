@@ -1,47 +1,67 @@
 package com.example.assignment.service;
 
-import com.example.assignment.entity.Course;
+import com.example.assignment.dto.CourseSummary;
+import com.example.assignment.dto.CursorPage;
+import com.example.assignment.dto.DashboardSummary;
 import com.example.assignment.entity.Student;
 import com.example.assignment.repository.CourseRepository;
+import com.example.assignment.repository.DepartmentRepository;
 import com.example.assignment.repository.StudentRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Service
+@Transactional(readOnly = true)
 public class DashboardService {
 
     private final StudentRepository studentRepository;
     private final CourseRepository courseRepository;
+    private final DepartmentRepository departmentRepository;
 
     public DashboardService(StudentRepository studentRepository,
-                            CourseRepository courseRepository) {
+                            CourseRepository courseRepository,
+                            DepartmentRepository departmentRepository) {
         this.studentRepository = studentRepository;
         this.courseRepository = courseRepository;
+        this.departmentRepository = departmentRepository;
     }
 
     /**
-     * Get students based on user role.
-     * ROLE_TEACHER: Returns all students
-     * ROLE_STUDENT: Returns only students matching the authenticated username
+     * Header tiles: totals and enrollments per department, from aggregate queries only.
+     */
+    public DashboardSummary getSummary() {
+        return new DashboardSummary(
+                studentRepository.count(),
+                courseRepository.count(),
+                studentRepository.countEnrollments(),
+                departmentRepository.findEnrollmentCounts());
+    }
+
+    /**
+     * Get one page of students based on user role.
+     * ROLE_TEACHER: Pages through all students by id
+     * ROLE_STUDENT: Returns only the student record linked to the account, as a single page
      * 
-     * @return List of students accessible to the current user
+     * @return Page of students accessible to the current user
      */
-    public List<Student> getStudentsForUser() {
+    public CursorPage<Student> getStudentsForUser(long after, int limit) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         // Robust null and authentication checks
         if (authentication == null || 
             !authentication.isAuthenticated() || 
             "anonymousUser".equals(authentication.getPrincipal())) {
-            return List.of(); // Return empty list for unauthenticated users
+            return new CursorPage<>(List.of(), null); // Return empty page for unauthenticated users
         }
 
         String loggedInUsername = authentication.getName();
         if (loggedInUsername == null || loggedInUsername.isEmpty()) {
-            return List.of(); // Safe fallback for null username
+            return new CursorPage<>(List.of(), null); // Safe fallback for null username
         }
 
         // Check if user has TEACHER role
@@ -50,14 +70,23 @@ public class DashboardService {
                     .anyMatch(a -> "ROLE_TEACHER".equals(a.getAuthority()));
 
         if (isTeacher) {
-            return studentRepository.findAll();
+            int pageSize = CursorPage.clampLimit(limit);
+            List<Student> rows = studentRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(pageSize + 1));
+            return CursorPage.of(rows, pageSize, Student::getId);
+        } else if (after > 0) {
+            return new CursorPage<>(List.of(), null); // the single page was already served
+        } else if (authentication.getPrincipal() instanceof AccountUserDetails account
+                && account.getStudentId() != null) {
+            // Primary-key lookup of the record linked at login
+            return new CursorPage<>(studentRepository.findById(account.getStudentId()).stream().toList(), null);
         } else {
-            // Return students matching the authenticated user's name
-            return studentRepository.findByName(loggedInUsername);
+            return new CursorPage<>(List.of(), null); // account not linked to a student
         }
     }
 
-    public List<Course> getAllCourses() {
-        return courseRepository.findAll();
+    public CursorPage<CourseSummary> getCourses(long after, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<CourseSummary> rows = courseRepository.findSummariesAfter(after, Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, CourseSummary::id);
     }
-}
\ No newline at end of file
+}
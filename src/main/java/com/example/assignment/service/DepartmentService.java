@@ -1,27 +1,73 @@
 package com.example.assignment.service;
 
+import com.example.assignment.dto.CursorPage;
+import com.example.assignment.dto.DepartmentPatch;
+import com.example.assignment.dto.DepartmentOverview;
 import com.example.assignment.entity.Department;
+import com.example.assignment.entity.Student;
+import com.example.assignment.entity.Teacher;
+import com.example.assignment.exception.ResourceNotFoundException;
 import com.example.assignment.repository.DepartmentRepository;
+import com.example.assignment.repository.StudentRepository;
+import com.example.assignment.repository.TeacherRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed("app.service")
 @Transactional
 public class DepartmentService {
 
     private final DepartmentRepository departmentRepository;
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final ChangeTracker changeTracker;
+    private final CascadingDeleteService cascadingDeleteService;
 
-    public DepartmentService(DepartmentRepository departmentRepository) {
+    public DepartmentService(DepartmentRepository departmentRepository,
+                             StudentRepository studentRepository,
+                             TeacherRepository teacherRepository,
+                             ChangeTracker changeTracker,
+                             CascadingDeleteService cascadingDeleteService) {
         this.departmentRepository = departmentRepository;
+        this.studentRepository = studentRepository;
+        this.teacherRepository = teacherRepository;
+        this.changeTracker = changeTracker;
+        this.cascadingDeleteService = cascadingDeleteService;
     }
 
     public List<Department> getAllDepartments() {
         return departmentRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<DepartmentOverview> findDepartmentOverviewsAfter(long after, int limit) {
+        List<DepartmentOverview> rows = departmentRepository.findOverviewsAfter(after, Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, DepartmentOverview::id);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Student> findStudentsAfter(Long departmentId, long after, int limit) {
+        List<Student> rows = studentRepository.findByDepartmentIdAndIdGreaterThanOrderByIdAsc(
+                departmentId, after, Limit.of(limit + 1));
+        requireExistsWhenEmpty(departmentId, rows);
+        return CursorPage.of(rows, limit, Student::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Teacher> findTeachersAfter(Long departmentId, long after, int limit) {
+        List<Teacher> rows = teacherRepository.findByDepartmentIdAndIdGreaterThanOrderByIdAsc(
+                departmentId, after, Limit.of(limit + 1));
+        requireExistsWhenEmpty(departmentId, rows);
+        return CursorPage.of(rows, limit, Teacher::getId);
+    }
+
     public Optional<Department> findById(Long id) {
         return departmentRepository.findById(id);
     }
@@ -34,11 +80,36 @@ public class DepartmentService {
         return departmentRepository.save(department);
     }
 
-    public void deleteDepartment(Long id) {
-        departmentRepository.deleteById(id);
+    // One UPDATE without loading the department; same uppercase rule as saveDepartment
+    public boolean patchDepartment(Long id, DepartmentPatch patch) {
+        PartialUpdates.requireAnyField(patch.name());
+        int rows = departmentRepository.patch(id, patch.name().toUpperCase(), patch.version());
+        if (!PartialUpdates.updated(rows, Department.class, id, patch.version(), departmentRepository::existsById)) {
+            return false;
+        }
+        changeTracker.changedAfterCommit(ChangeTracker.Table.DEPARTMENTS);
+        return true;
+    }
+
+    /**
+     * Deletes the department with its students, teachers and their courses; see {@link CascadingDeleteService}.
+     * Not wrapped in the class-level transaction: given a chunk size, each batch commits on its own.
+     *
+     * @return false if there is no such department
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean deleteDepartment(Long id, Integer chunkSize) {
+        return cascadingDeleteService.deleteDepartment(id, chunkSize);
     }
 
     public boolean existsById(Long id) {
         return departmentRepository.existsById(id);
     }
+
+    // An empty page is only a 404 if the department itself is missing; non-empty pages skip the lookup
+    private void requireExistsWhenEmpty(Long departmentId, List<?> rows) {
+        if (rows.isEmpty() && !departmentRepository.existsById(departmentId)) {
+            throw new ResourceNotFoundException("Department not found: " + departmentId);
+        }
+    }
 }
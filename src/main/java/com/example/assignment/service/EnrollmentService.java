@@ -0,0 +1,106 @@
+package com.example.assignment.service;
+
+import com.example.assignment.dto.EnrollmentResult;
+import com.example.assignment.exception.BadRequestException;
+import com.example.assignment.exception.CourseFullException;
+import com.example.assignment.exception.ResourceNotFoundException;
+import com.example.assignment.repository.CourseRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Enrolls and unenrolls students with set-based statements on the join table, so a whole lecture is one
+ * round trip and neither side's collection is loaded. Student.courses is the owning side, so entities already
+ * in a persistence context do not see these changes until they are reloaded.
+ *
+ * Capacity: join rows are inserted first, then the seats they need are claimed with one conditional UPDATE
+ * on the course's counter. The course row is locked only from that UPDATE to commit, and when the seats are
+ * not available the whole call rolls back with {@link CourseFullException}, so a course is never oversold.
+ * Freed seats are offered to the course's waitlist after commit ({@link SeatsFreedEvent}).
+ */
+@Service
+@Timed("app.service")
+@Transactional
+public class EnrollmentService {
+
+    // Keeps the IN list well below the PostgreSQL bind parameter limit
+    static final int MAX_STUDENTS_PER_REQUEST = 10_000;
+
+    private final CourseRepository courseRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeTracker changeTracker;
+
+    public EnrollmentService(CourseRepository courseRepository, ApplicationEventPublisher eventPublisher,
+                             ChangeTracker changeTracker) {
+        this.courseRepository = courseRepository;
+        this.eventPublisher = eventPublisher;
+        this.changeTracker = changeTracker;
+    }
+
+    // Teachers place students directly, regardless of the waitlist
+    public EnrollmentResult enroll(Long courseId, List<Long> studentIds) {
+        Set<Long> ids = validate(studentIds);
+        int inserted = courseRepository.insertEnrollments(courseId, ids);
+        if (inserted == 0) {
+            requireCourse(courseId); // only checked when nothing happened, to tell a missing course apart
+        } else if (courseRepository.claimSeats(courseId, inserted) == 0) {
+            throw new CourseFullException("Course " + courseId + " has fewer than " + inserted + " free seats");
+        } else {
+            changeTracker.changedAfterCommit(ChangeTracker.Table.ENROLLMENTS);
+        }
+        return new EnrollmentResult(courseId, ids.size(), inserted);
+    }
+
+    // A student taking a seat for themselves may not jump the waitlist
+    public EnrollmentResult enrollSelf(Long courseId, Long studentId) {
+        int inserted = courseRepository.insertEnrollments(courseId, Set.of(studentId));
+        if (inserted == 0) {
+            requireCourse(courseId);
+        } else if (courseRepository.claimSeatsAheadOfWaitlist(courseId, inserted) == 0) {
+            throw new CourseFullException("Course " + courseId + " is full or has a waitlist; join the waitlist instead");
+        } else {
+            changeTracker.changedAfterCommit(ChangeTracker.Table.ENROLLMENTS);
+        }
+        return new EnrollmentResult(courseId, 1, inserted);
+    }
+
+    public EnrollmentResult unenroll(Long courseId, List<Long> studentIds) {
+        Set<Long> ids = validate(studentIds);
+        int deleted = courseRepository.deleteEnrollments(courseId, ids);
+        if (deleted == 0) {
+            requireCourse(courseId);
+        } else {
+            courseRepository.releaseSeats(courseId, deleted);
+            changeTracker.changedAfterCommit(ChangeTracker.Table.ENROLLMENTS);
+            eventPublisher.publishEvent(new SeatsFreedEvent(courseId));
+        }
+        return new EnrollmentResult(courseId, ids.size(), deleted);
+    }
+
+    private void requireCourse(Long courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new ResourceNotFoundException("Course not found: " + courseId);
+        }
+    }
+
+    private static Set<Long> validate(Collection<Long> studentIds) {
+        if (studentIds == null || studentIds.isEmpty()) {
+            throw new BadRequestException("At least one student id is required");
+        }
+        if (studentIds.size() > MAX_STUDENTS_PER_REQUEST) {
+            throw new BadRequestException("At most " + MAX_STUDENTS_PER_REQUEST + " student ids per request");
+        }
+        if (studentIds.stream().anyMatch(Objects::isNull)) {
+            throw new BadRequestException("Student ids must not be null");
+        }
+        return new LinkedHashSet<>(studentIds);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.assignment.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes flat rows to an export stream as NDJSON or CSV, one row at a time.
+ * Rows are flushed to the client every {@link #FLUSH_INTERVAL} rows so nothing accumulates in memory.
+ */
+public class ExportWriter {
+
+    public static final int FLUSH_INTERVAL = 500;
+
+    // Rows are separated by explicit newlines, not Jackson's default root value separator
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .setRootValueSeparator(null)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private final ExportFormat format;
+    private final String[] columns;
+    private final Writer writer;
+    private final JsonGenerator json;
+    private long rowCount;
+
+    public ExportWriter(ExportFormat format, OutputStream out, String... columns) {
+        this.format = format;
+        this.columns = columns;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            this.json = format == ExportFormat.NDJSON ? JSON_FACTORY.createGenerator(writer) : null;
+            if (format == ExportFormat.CSV) {
+                writeCsvLine((Object[]) columns);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Writes one row; values must be given in column order.
+     * Returns true when the caller should release per-batch resources (e.g. clear the persistence context).
+     */
+    public boolean writeRow(Object... values) {
+        try {
+            if (format == ExportFormat.NDJSON) {
+                json.writeStartObject();
+                for (int i = 0; i < columns.length; i++) {
+                    json.writeObjectField(columns[i], values[i]);
+                }
+                json.writeEndObject();
+                json.writeRaw('\n');
+            } else {
+                writeCsvLine(values);
+            }
+            if (++rowCount % FLUSH_INTERVAL == 0) {
+                flush();
+                return true;
+            }
+            return false;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public void flush() {
+        try {
+            if (json != null) {
+                json.flush();
+            }
+            writer.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void writeCsvLine(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvEscape(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String csvEscape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.assignment.service;
+
+import com.example.assignment.dto.RecordingStatus;
+import com.example.assignment.exception.BadRequestException;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * One continuous Java Flight Recorder recording at a time, started on demand. It keeps a rolling window of
+ * events bounded by age and size (and by {@code app.jfr.max-age} / {@code app.jfr.max-size}), so one left
+ * running does not fill the disk. Besides the JDK's own events it captures the application's request,
+ * transaction, SQL and password check events (see FlightRecorderConfig).
+ */
+@Service
+public class FlightRecordingService {
+
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+
+    private final Duration maxAgeLimit;
+    private final DataSize maxSizeLimit;
+
+    // guarded by this
+    private Recording recording;
+    private String settings;
+
+    public FlightRecordingService(@Value("${app.jfr.max-age:PT30M}") Duration maxAgeLimit,
+                                  @Value("${app.jfr.max-size:100MB}") DataSize maxSizeLimit) {
+        this.maxAgeLimit = maxAgeLimit;
+        this.maxSizeLimit = maxSizeLimit;
+    }
+
+    /**
+     * @param maxAge   events older than this are dropped, null for the configured limit
+     * @param maxSize  data kept on disk, null for the configured limit
+     * @param settings "default" (about 1% overhead) or "profile" (more detail, about 2%)
+     * @return empty if a recording is already running
+     */
+    public synchronized Optional<RecordingStatus> start(Duration maxAge, DataSize maxSize, String settings) {
+        if (maxAge == null) {
+            maxAge = maxAgeLimit;
+        }
+        if (maxSize == null) {
+            maxSize = maxSizeLimit;
+        }
+        if (maxAge.isNegative() || maxAge.isZero() || maxAge.compareTo(maxAgeLimit) > 0) {
+            throw new BadRequestException("maxAge must be positive and at most " + maxAgeLimit);
+        }
+        if (maxSize.toBytes() <= 0 || maxSize.compareTo(maxSizeLimit) > 0) {
+            throw new BadRequestException("maxSize must be positive and at most " + maxSizeLimit);
+        }
+        if (!SETTINGS.contains(settings)) {
+            throw new BadRequestException("settings must be one of " + SETTINGS);
+        }
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("Java Flight Recorder is not available in this JVM");
+        }
+        if (recording != null) {
+            return Optional.empty();
+        }
+        try {
+            recording = new Recording(Configuration.getConfiguration(settings));
+        } catch (IOException | ParseException ex) {
+            throw new IllegalStateException("Cannot read the JFR settings '" + settings + "'", ex);
+        }
+        this.settings = settings;
+        recording.setName("assignment");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.start();
+        return getStatus();
+    }
+
+    public synchronized Optional<RecordingStatus> getStatus() {
+        if (recording == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new RecordingStatus(recording.getId(), recording.getState().name(),
+                settings, recording.getStartTime(), recording.getMaxAge(), recording.getMaxSize()));
+    }
+
+    /**
+     * Writes what the running recording holds so far to a temporary file, which the caller deletes.
+     *
+     * @return empty if no recording is running
+     */
+    public synchronized Optional<Path> dump() {
+        if (recording == null) {
+            return Optional.empty();
+        }
+        return Optional.of(dumpTo(recording));
+    }
+
+    /**
+     * Stops the recording and writes it to a temporary file, which the caller deletes.
+     *
+     * @return empty if no recording is running
+     */
+    public synchronized Optional<Path> stop() {
+        if (recording == null) {
+            return Optional.empty();
+        }
+        try (Recording stopped = recording) {
+            recording = null;
+            stopped.stop();
+            return Optional.of(dumpTo(stopped));
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private static Path dumpTo(Recording source) {
+        try {
+            Path file = Files.createTempFile("assignment-", ".jfr");
+            source.dump(file);
+            return file;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.assignment.service;
+
+import com.example.assignment.service.ChangeTracker.Table;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link TableVersions} kept in the table_versions rows.
+ */
+@Component
+public class JdbcTableVersions implements TableVersions {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public JdbcTableVersions(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * One short transaction for all the tables. Rows are updated in enum order, so two bumps lock them in the
+     * same order and cannot deadlock.
+     */
+    @Override
+    public Map<Table, Long> bump(Set<Table> tables) {
+        return transactionTemplate.execute(status -> {
+            Map<Table, Long> versions = new EnumMap<>(Table.class);
+            for (Table table : EnumSet.copyOf(tables)) {
+                jdbcTemplate.update("update table_versions set version = version + 1 where name = ?", table.name());
+                versions.put(table, jdbcTemplate.queryForObject("select version from table_versions where name = ?",
+                        Long.class, table.name()));
+            }
+            return versions;
+        });
+    }
+
+    @Override
+    public Map<Table, Long> readAll() {
+        Map<Table, Long> versions = new EnumMap<>(Table.class);
+        jdbcTemplate.query("select name, version from table_versions",
+                row -> { versions.put(Table.valueOf(row.getString(1)), row.getLong(2)); });
+        return versions;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.assignment.service;
+
+import com.example.assignment.exception.BadRequestException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Shared rules of the single-statement PATCH and DELETE paths, which act on the row count of one
+ * conditional statement instead of reading the row first.
+ */
+final class PartialUpdates {
+
+    private PartialUpdates() {
+    }
+
+    static void requireAnyField(Object... fields) {
+        if (Arrays.stream(fields).allMatch(Objects::isNull)) {
+            throw new BadRequestException("At least one field to update is required");
+        }
+    }
+
+    /**
+     * Reads the row count of an UPDATE guarded by {@code id} and, when sent, {@code version}. No row means
+     * no such entity, except when a version was sent and the row exists: then someone else changed it.
+     * Only that last case costs a second statement.
+     *
+     * @return whether the row was updated; false for a missing entity
+     */
+    static boolean updated(int rows, Class<?> entityType, Long id, Long version, Predicate<Long> exists) {
+        if (rows > 0) {
+            return true;
+        }
+        if (version != null && exists.test(id)) {
+            throw new ObjectOptimisticLockingFailureException(entityType, id);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.assignment.service;
+
+import com.example.assignment.repository.UserRepository;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Stores the re-encoded hash that DaoAuthenticationProvider produces after a successful login
+ * when the stored hash used a different BCrypt cost or predates the {bcrypt} prefix.
+ */
+@Service
+@Transactional
+public class PasswordUpgradeService implements UserDetailsPasswordService {
+
+    private final UserRepository userRepository;
+
+    public PasswordUpgradeService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.findByUsername(user.getUsername())
+                .ifPresent(entity -> entity.setPassword(newPassword));
+        return AccountUserDetails.copyOf(user, newPassword);
+    }
+}
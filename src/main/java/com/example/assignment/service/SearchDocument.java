@@ -0,0 +1,44 @@
+package com.example.assignment.service;
+
+import com.example.assignment.dto.SearchType;
+import com.example.assignment.entity.Course;
+import com.example.assignment.entity.Student;
+import com.example.assignment.entity.Teacher;
+
+import java.util.List;
+
+/**
+ * The searchable fields of an entity, copied out of it so the index never holds managed entities.
+ * Title matches weigh most, then code, then the extra fields.
+ */
+public record SearchDocument(SearchType type, Long id, String title, String code, List<String> extra) {
+
+    public static SearchDocument of(Student student) {
+        return new SearchDocument(SearchType.STUDENT, student.getId(), student.getName(), student.getStudentId(),
+                List.of());
+    }
+
+    public static SearchDocument of(Teacher teacher) {
+        return new SearchDocument(SearchType.TEACHER, teacher.getId(), teacher.getName(), teacher.getTeacherId(),
+                teacher.getEmail() != null ? List.of(teacher.getEmail()) : List.of());
+    }
+
+    public static SearchDocument of(Course course) {
+        return new SearchDocument(SearchType.COURSE, course.getId(), course.getTitle(), course.getCourseCode(),
+                List.of());
+    }
+
+    // Entity listeners get the entity as Object
+    public static SearchDocument of(Object entity) {
+        if (entity instanceof Student student) {
+            return of(student);
+        }
+        if (entity instanceof Teacher teacher) {
+            return of(teacher);
+        }
+        if (entity instanceof Course course) {
+            return of(course);
+        }
+        throw new IllegalArgumentException("Not a searchable entity: " + entity.getClass().getName());
+    }
+}
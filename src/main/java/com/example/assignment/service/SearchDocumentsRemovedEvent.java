@@ -0,0 +1,12 @@
+package com.example.assignment.service;
+
+import com.example.assignment.dto.SearchType;
+
+import java.util.Collection;
+
+/**
+ * Published by bulk DELETE statements that entity listeners do not see, with the ids they removed.
+ * Applied by {@link SearchService} once the transaction has committed.
+ */
+public record SearchDocumentsRemovedEvent(SearchType type, Collection<Long> ids) {
+}
@@ -0,0 +1,12 @@
+package com.example.assignment.service;
+
+import com.example.assignment.dto.SearchType;
+
+import java.util.List;
+
+/**
+ * Published by bulk UPDATE statements that entity listeners do not see: the searchable fields they set,
+ * null for those left unchanged. Applied by {@link SearchService} once the transaction has committed.
+ */
+public record SearchFieldsChangedEvent(SearchType type, Long id, String title, String code, List<String> extra) {
+}
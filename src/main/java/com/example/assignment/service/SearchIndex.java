@@ -0,0 +1,459 @@
+package com.example.assignment.service;
+
+import com.example.assignment.dto.SearchHit;
+import com.example.assignment.dto.SearchType;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index for typeahead search.
+ *
+ * Fields are lower-cased, stripped of accents and split into words. A document matches a query when every
+ * query term matches one of its fields, scored per term as: whole field 10, field prefix 6, word prefix 4,
+ * times the field weight (title 3, code 2, other 1). A single term of three or more characters also matches
+ * inside words, scored 1 times the field weight. Equal scores keep index order.
+ *
+ * Two kinds of postings, each an append-only list of document slots:
+ * <ul>
+ *   <li>word prefixes of up to {@value #PREFIX_LENGTH} characters, split into one bucket per score a term
+ *       equal to that prefix would get. A short single-term query therefore reads its best bucket first and
+ *       stops after {@code limit} hits, however many documents share the prefix;</li>
+ *   <li>trigrams of every word, consulted for matches inside words only when prefix matches do not fill
+ *       the page.</li>
+ * </ul>
+ * Multi-term queries are driven by the term with the fewest prefix candidates; when the others have many
+ * more, they are first turned into candidate bit sets so only documents matching every term are scored.
+ *
+ * Replacing or removing a document empties its slot, and the postings are rebuilt once more than half of
+ * the slots are empty. Searches share a read lock; writes take the write lock.
+ */
+public class SearchIndex {
+
+    // Shorter queries match too large a share of the index to be useful as you type
+    public static final int MIN_QUERY_LENGTH = 2;
+
+    private static final int PREFIX_LENGTH = 6;
+    private static final int[] FIELD_WEIGHTS = {3, 2, 1};
+    // Every score a single term can reach through a prefix, best first; one bucket each
+    private static final int[] CLASSES = {30, 20, 18, 12, 10, 8, 6, 4};
+    private static final int INFIX_MAX_SCORE = 3;
+    // Other terms are pre-filtered through bit sets unless their candidates outnumber the driver's this much
+    private static final int BITSET_FACTOR = 64;
+    private static final int COMPACT_THRESHOLD = 1024;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Comparator<Ranked> BEST_FIRST = Comparator.comparingInt(Ranked::score).reversed()
+            .thenComparingInt(Ranked::slot);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Key, Integer> slots = new HashMap<>();
+    private final Map<String, Postings[]> prefixes = new HashMap<>();
+    private final Map<String, Postings> trigrams = new HashMap<>();
+    private Doc[] docs = new Doc[1024];
+    private int used;
+    private int empty;
+
+    public void put(SearchDocument document) {
+        Doc doc = toDoc(document);
+        lock.writeLock().lock();
+        try {
+            clearSlot(doc.key());
+            append(doc);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces some fields of an indexed document, keeping the others as indexed; null means unchanged.
+     * A document that is not in the index is left out, as there is nothing to complete it from.
+     */
+    public void update(SearchType type, Long id, String title, String code, List<String> extra) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slots.get(new Key(type, id));
+            if (slot == null) {
+                return;
+            }
+            Doc old = docs[slot];
+            String[] fields;
+            if (extra == null) {
+                fields = old.fields().clone();
+            } else {
+                fields = new String[2 + extra.size()];
+                for (int i = 0; i < extra.size(); i++) {
+                    fields[i + 2] = normalize(extra.get(i));
+                }
+            }
+            fields[0] = title != null ? normalize(title) : old.fields()[0];
+            fields[1] = code != null ? normalize(code) : old.fields()[1];
+            Doc doc = new Doc(old.key(), title != null ? title : old.title(), code != null ? code : old.code(), fields);
+            clearSlot(doc.key());
+            append(doc);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(SearchType type, Long id) {
+        lock.writeLock().lock();
+        try {
+            clearSlot(new Key(type, id));
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Documents matching every query term, best first.
+     *
+     * @param type  restricts the results to one kind of document, or null for all
+     */
+    public List<SearchHit> search(String query, SearchType type, int limit) {
+        String[] terms = terms(query);
+        if (terms.length == 0 || String.join("", terms).length() < MIN_QUERY_LENGTH || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Top top = new Top(limit);
+            if (terms.length == 1) {
+                searchTerm(terms[0], type, top);
+            } else {
+                searchAll(terms, type, top);
+            }
+            return top.hits();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void searchTerm(String term, SearchType type, Top top) {
+        Postings[] buckets = prefixes.get(prefixKey(term));
+        boolean exact = term.length() <= PREFIX_LENGTH; // bucket score is the document's score, nothing to verify
+        String[] terms = {term};
+        if (buckets != null) {
+            for (int c = 0; c < CLASSES.length; c++) {
+                Postings bucket = buckets[c];
+                for (int i = 0; bucket != null && i < bucket.size; i++) {
+                    if (exact && top.isFull() && top.worstScore() >= CLASSES[c]) {
+                        return; // the rest scores at most the same and comes later in index order
+                    }
+                    Doc doc = live(bucket.slots[i], type);
+                    if (doc != null) {
+                        top.offer(bucket.slots[i], exact ? CLASSES[c] : score(doc, terms, false));
+                    }
+                }
+            }
+        }
+        if (term.length() >= 3 && (!top.isFull() || top.worstScore() < INFIX_MAX_SCORE)) {
+            Postings infix = trigramCandidates(term);
+            for (int i = 0; infix != null && i < infix.size; i++) {
+                Doc doc = live(infix.slots[i], type);
+                if (doc != null) {
+                    int score = score(doc, terms, true);
+                    if (score <= INFIX_MAX_SCORE) { // higher scores are prefix matches, offered above
+                        top.offer(infix.slots[i], score);
+                    }
+                }
+            }
+        }
+    }
+
+    private void searchAll(String[] terms, SearchType type, Top top) {
+        int[] counts = new int[terms.length];
+        int driver = 0;
+        for (int t = 0; t < terms.length; t++) {
+            counts[t] = candidateCount(terms[t]);
+            if (counts[t] < counts[driver]) {
+                driver = t;
+            }
+        }
+        // Scoring a candidate costs a few cache misses, setting a bit almost nothing
+        BitSet[] required = new BitSet[terms.length];
+        for (int t = 0; t < terms.length; t++) {
+            if (t != driver && counts[t] < counts[driver] * BITSET_FACTOR) {
+                required[t] = candidateSet(terms[t]);
+            }
+        }
+        Postings[] buckets = prefixes.get(prefixKey(terms[driver]));
+        for (int c = 0; buckets != null && c < CLASSES.length; c++) {
+            Postings bucket = buckets[c];
+            for (int i = 0; bucket != null && i < bucket.size; i++) {
+                int slot = bucket.slots[i];
+                Doc doc = allSet(required, slot) ? live(slot, type) : null;
+                if (doc != null) {
+                    top.offer(slot, score(doc, terms, false));
+                }
+            }
+        }
+    }
+
+    private static boolean allSet(BitSet[] required, int slot) {
+        for (BitSet set : required) {
+            if (set != null && !set.get(slot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Documents with a word starting with the term's prefix key
+    private int candidateCount(String term) {
+        int count = 0;
+        Postings[] buckets = prefixes.get(prefixKey(term));
+        for (int c = 0; buckets != null && c < CLASSES.length; c++) {
+            count += buckets[c] != null ? buckets[c].size : 0;
+        }
+        return count;
+    }
+
+    private BitSet candidateSet(String term) {
+        BitSet set = new BitSet(used);
+        Postings[] buckets = prefixes.get(prefixKey(term));
+        for (int c = 0; buckets != null && c < CLASSES.length; c++) {
+            for (int i = 0; buckets[c] != null && i < buckets[c].size; i++) {
+                set.set(buckets[c].slots[i]);
+            }
+        }
+        return set;
+    }
+
+    // Shortest trigram list of the term; null when one of its trigrams occurs nowhere
+    private Postings trigramCandidates(String term) {
+        Postings shortest = null;
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            Postings postings = trigrams.get(term.substring(i, i + 3));
+            if (postings == null) {
+                return null;
+            }
+            if (shortest == null || postings.size < shortest.size) {
+                shortest = postings;
+            }
+        }
+        return shortest;
+    }
+
+    private Doc live(int slot, SearchType type) {
+        Doc doc = docs[slot];
+        return doc == null || (type != null && doc.key().type() != type) ? null : doc;
+    }
+
+    // 0 unless every term matches some field
+    private static int score(Doc doc, String[] terms, boolean infix) {
+        int total = 0;
+        for (String term : terms) {
+            int best = 0;
+            for (int f = 0; f < doc.fields().length; f++) {
+                best = Math.max(best, match(doc.fields()[f], term, infix) * weight(f));
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private static int match(String field, String term, boolean infix) {
+        if (field.equals(term)) {
+            return 10;
+        }
+        if (field.startsWith(term)) {
+            return 6;
+        }
+        for (int at = field.indexOf(term, 1); at > 0; at = field.indexOf(term, at + 1)) {
+            if (field.charAt(at - 1) == ' ') {
+                return 4;
+            }
+        }
+        return infix && term.length() >= 3 && field.contains(term) ? 1 : 0;
+    }
+
+    private static int weight(int field) {
+        return FIELD_WEIGHTS[Math.min(field, FIELD_WEIGHTS.length - 1)];
+    }
+
+    private void append(Doc doc) {
+        int slot = used++;
+        if (slot == docs.length) {
+            docs = Arrays.copyOf(docs, slot * 2);
+        }
+        docs[slot] = doc;
+        slots.put(doc.key(), slot);
+
+        Map<String, Integer> prefixClasses = new HashMap<>();
+        Map<String, Boolean> wordTrigrams = new HashMap<>();
+        for (int f = 0; f < doc.fields().length; f++) {
+            String field = doc.fields()[f];
+            int weight = weight(f);
+            String[] words = field.split(" ");
+            for (int w = 0; w < words.length; w++) {
+                String word = words[w];
+                for (int length = 1; length <= Math.min(PREFIX_LENGTH, word.length()); length++) {
+                    String prefix = word.substring(0, length);
+                    int score = (w > 0 ? 4 : prefix.equals(field) ? 10 : 6) * weight;
+                    prefixClasses.merge(prefix, score, Math::max);
+                }
+                for (int i = 0; i + 3 <= word.length(); i++) {
+                    wordTrigrams.put(word.substring(i, i + 3), Boolean.TRUE);
+                }
+            }
+        }
+        prefixClasses.forEach((prefix, score) -> {
+            Postings[] buckets = prefixes.computeIfAbsent(prefix, key -> new Postings[CLASSES.length]);
+            int bucket = bucketOf(score);
+            if (buckets[bucket] == null) {
+                buckets[bucket] = new Postings();
+            }
+            buckets[bucket].add(slot);
+        });
+        wordTrigrams.keySet().forEach(trigram -> trigrams.computeIfAbsent(trigram, key -> new Postings()).add(slot));
+    }
+
+    private static int bucketOf(int score) {
+        for (int c = 0; c < CLASSES.length; c++) {
+            if (CLASSES[c] == score) {
+                return c;
+            }
+        }
+        throw new IllegalStateException("No bucket for score " + score);
+    }
+
+    private void clearSlot(Key key) {
+        Integer slot = slots.remove(key);
+        if (slot != null) {
+            docs[slot] = null;
+            empty++;
+        }
+    }
+
+    private void compactIfSparse() {
+        if (empty < COMPACT_THRESHOLD || empty * 2 < used) {
+            return;
+        }
+        Doc[] live = Arrays.stream(docs, 0, used).filter(doc -> doc != null).toArray(Doc[]::new);
+        slots.clear();
+        prefixes.clear();
+        trigrams.clear();
+        docs = new Doc[Math.max(1024, live.length * 2)];
+        used = 0;
+        empty = 0;
+        for (Doc doc : live) {
+            append(doc);
+        }
+    }
+
+    private static String prefixKey(String term) {
+        return term.length() <= PREFIX_LENGTH ? term : term.substring(0, PREFIX_LENGTH);
+    }
+
+    private static Doc toDoc(SearchDocument document) {
+        String[] fields = new String[2 + document.extra().size()];
+        fields[0] = normalize(document.title());
+        fields[1] = normalize(document.code());
+        for (int i = 0; i < document.extra().size(); i++) {
+            fields[i + 2] = normalize(document.extra().get(i));
+        }
+        return new Doc(new Key(document.type(), document.id()), document.title(), document.code(), fields);
+    }
+
+    private static String[] terms(String query) {
+        String normalized = normalize(query);
+        return normalized.isEmpty() ? new String[0] : normalized.split(" ");
+    }
+
+    // "Zoë O'Brien" -> "zoe o brien"
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(decomposed.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private record Key(SearchType type, Long id) {
+    }
+
+    private record Doc(Key key, String title, String code, String[] fields) {
+    }
+
+    private record Ranked(int slot, int score) {
+    }
+
+    // The best hits so far, worst at the head
+    private final class Top {
+        private final int limit;
+        private final PriorityQueue<Ranked> queue;
+
+        Top(int limit) {
+            this.limit = limit;
+            this.queue = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        }
+
+        void offer(int slot, int score) {
+            if (score <= 0) {
+                return;
+            }
+            queue.offer(new Ranked(slot, score));
+            if (queue.size() > limit) {
+                queue.poll();
+            }
+        }
+
+        boolean isFull() {
+            return queue.size() >= limit;
+        }
+
+        int worstScore() {
+            return queue.peek().score();
+        }
+
+        List<SearchHit> hits() {
+            List<Ranked> ranked = new ArrayList<>(queue);
+            ranked.sort(BEST_FIRST);
+            return ranked.stream().map(r -> {
+                Doc doc = docs[r.slot()];
+                return new SearchHit(doc.key().type(), doc.key().id(), doc.title(), doc.code(), r.score());
+            }).toList();
+        }
+    }
+
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+    }
+}
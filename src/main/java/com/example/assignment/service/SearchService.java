@@ -0,0 +1,135 @@
+package com.example.assignment.service;
+
+import com.example.assignment.dto.SearchHit;
+import com.example.assignment.dto.SearchType;
+import com.example.assignment.repository.CourseRepository;
+import com.example.assignment.repository.StudentRepository;
+import com.example.assignment.repository.TeacherRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Serves GET /api/search from a {@link SearchIndex} held in memory on each instance.
+ *
+ * The index is loaded from the export cursors once the application is ready and then follows committed
+ * writes through SearchIndexListener, plus the events published by bulk statements the listener cannot see.
+ * A rebuild fills a fresh index while the current one keeps serving; changes committed meanwhile go to both
+ * and are replayed onto the fresh index before it is swapped in, so none is lost to a row the cursor had
+ * already passed.
+ */
+@Service
+public class SearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchService.class);
+
+    // Entities read between persistence context clears while loading
+    private static final int CLEAR_INTERVAL = 1000;
+
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final CourseRepository courseRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Object changeLock = new Object();
+    private volatile SearchIndex index = new SearchIndex();
+    private List<Consumer<SearchIndex>> pendingReplay; // non-null while rebuilding, guarded by changeLock
+
+    public SearchService(StudentRepository studentRepository, TeacherRepository teacherRepository,
+                         CourseRepository courseRepository, EntityManager entityManager,
+                         PlatformTransactionManager transactionManager) {
+        this.studentRepository = studentRepository;
+        this.teacherRepository = teacherRepository;
+        this.courseRepository = courseRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public List<SearchHit> search(String query, SearchType type, int limit) {
+        return index.search(query, type, limit);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        SearchIndex fresh = new SearchIndex();
+        synchronized (changeLock) {
+            pendingReplay = new ArrayList<>();
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                load(studentRepository.streamAllByOrderByIdAsc(), SearchDocument::of, fresh);
+                load(teacherRepository.streamAllByOrderByIdAsc(), SearchDocument::of, fresh);
+                load(courseRepository.streamAllByOrderByIdAsc(), SearchDocument::of, fresh);
+            });
+            synchronized (changeLock) {
+                pendingReplay.forEach(change -> change.accept(fresh));
+                index = fresh;
+            }
+        } finally {
+            synchronized (changeLock) {
+                pendingReplay = null;
+            }
+        }
+        log.info("Search index built: {} documents in {} ms", fresh.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Called by SearchIndexListener after the writing transaction commits
+    public void index(SearchDocument document) {
+        apply(index -> index.put(document));
+    }
+
+    public void remove(SearchType type, Long id) {
+        apply(index -> index.remove(type, id));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFieldsChanged(SearchFieldsChangedEvent event) {
+        apply(index -> index.update(event.type(), event.id(), event.title(), event.code(), event.extra()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDocumentsRemoved(SearchDocumentsRemovedEvent event) {
+        apply(index -> event.ids().forEach(id -> index.remove(event.type(), id)));
+    }
+
+    private void apply(Consumer<SearchIndex> change) {
+        synchronized (changeLock) {
+            change.accept(index);
+            if (pendingReplay != null) {
+                pendingReplay.add(change);
+            }
+        }
+    }
+
+    private <T> void load(Stream<T> rows, Function<T, SearchDocument> toDocument, SearchIndex target) {
+        try (rows) {
+            int[] count = {0};
+            rows.forEach(row -> {
+                target.put(toDocument.apply(row));
+                if (++count[0] % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            });
+        }
+        entityManager.clear();
+    }
+}
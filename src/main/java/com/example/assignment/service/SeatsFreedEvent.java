@@ -0,0 +1,8 @@
+package com.example.assignment.service;
+
+/**
+ * Published when a course may have a seat for its waitlist: after an unenrollment or a new waitlist entry.
+ * Handled by {@link WaitlistPromoter} once the publishing transaction has committed.
+ */
+public record SeatsFreedEvent(Long courseId) {
+}
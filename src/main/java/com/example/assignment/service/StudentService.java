@@ -1,25 +1,97 @@
 package com.example.assignment.service;
 
+import com.example.assignment.dto.BulkResult;
+import com.example.assignment.dto.CursorPage;
+import com.example.assignment.dto.SearchType;
+import com.example.assignment.dto.StudentFilter;
+import com.example.assignment.dto.StudentPatch;
+import com.example.assignment.entity.Course;
 import com.example.assignment.entity.Student;
+import com.example.assignment.exception.CourseFullException;
+import com.example.assignment.exception.ResourceNotFoundException;
+import com.example.assignment.repository.CourseRepository;
 import com.example.assignment.repository.StudentRepository;
+import com.example.assignment.repository.StudentSpecifications;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed("app.service")
 @Transactional
 public class StudentService {
 
     private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final EntityManager entityManager;
+    private final BulkInsertService bulkInsertService;
+    private final ChangeTracker changeTracker;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public StudentService(StudentRepository studentRepository) {
+    public StudentService(StudentRepository studentRepository, CourseRepository courseRepository,
+                          EntityManager entityManager, BulkInsertService bulkInsertService,
+                          ChangeTracker changeTracker, ApplicationEventPublisher eventPublisher) {
         this.studentRepository = studentRepository;
+        this.courseRepository = courseRepository;
+        this.entityManager = entityManager;
+        this.bulkInsertService = bulkInsertService;
+        this.changeTracker = changeTracker;
+        this.eventPublisher = eventPublisher;
     }
 
+    /**
+     * Saves the student including its course set. Courses added this way claim a seat like
+     * {@link EnrollmentService#enroll}, and a full course rolls the whole save back with
+     * {@link CourseFullException}; courses left give their seat back and are offered to the waitlist.
+     */
     public Student saveStudent(Student student) {
-        return studentRepository.save(student);
+        Set<Long> previous = student.getId() != null
+                ? new HashSet<>(courseRepository.findCourseIdsByStudentId(student.getId()))
+                : Set.of();
+        Set<Long> requested = student.getCourses().stream()
+                .map(Course::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        for (Long courseId : requested) {
+            if (!previous.contains(courseId) && courseRepository.claimSeats(courseId, 1) == 0) {
+                if (!courseRepository.existsById(courseId)) {
+                    throw new ResourceNotFoundException("Course not found: " + courseId);
+                }
+                throw new CourseFullException("Course " + courseId + " has no free seat");
+            }
+        }
+        Student saved = studentRepository.save(student);
+        for (Long courseId : previous) {
+            if (!requested.contains(courseId)) {
+                courseRepository.releaseSeats(courseId, 1);
+                eventPublisher.publishEvent(new SeatsFreedEvent(courseId));
+            }
+        }
+        if (!previous.equals(requested)) {
+            changeTracker.changedAfterCommit(ChangeTracker.Table.ENROLLMENTS);
+        }
+        return saved;
+    }
+
+    // Not wrapped in the class-level transaction: each chunk commits on its own
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkResult saveStudentsInBulk(List<Student> students) {
+        return bulkInsertService.insertAll(students, Student::getId, Student::setId);
     }
 
     public void registerFromUI(String name, String studentId) {
@@ -33,12 +105,89 @@ public class StudentService {
         return studentRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<Student> findStudentsAfter(long after, int limit) {
+        List<Student> rows = studentRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, Student::getId);
+    }
+
+    /**
+     * Students matching {@code filter}, one keyset page at a time. All predicates and the id seek go into a
+     * single statement, which also fetches each student's department for the response; the extra row
+     * fetched only tells whether another page exists.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Student> queryStudents(StudentFilter filter, long after, int limit) {
+        Specification<Student> spec = StudentSpecifications.matching(filter).and(StudentSpecifications.idAfter(after));
+        List<Student> rows = studentRepository.findBy(spec, query -> query
+                .sortBy(Sort.by("id"))
+                .project("department")
+                .limit(limit + 1)
+                .all());
+        return CursorPage.of(rows, limit, Student::getId);
+    }
+
+    // Total across all pages, so it ignores the cursor; a separate count(*) the caller opts into
+    @Transactional(readOnly = true)
+    public long countStudents(StudentFilter filter) {
+        return studentRepository.count(StudentSpecifications.matching(filter));
+    }
+
+    /**
+     * Streams every student to {@code out} in id order without materializing the table.
+     * The persistence context is cleared after each flushed batch so memory stays constant.
+     */
+    @Transactional(readOnly = true)
+    public void exportStudents(ExportFormat format, OutputStream out) {
+        ExportWriter writer = new ExportWriter(format, out, "id", "studentId", "name", "departmentId");
+        try (Stream<Student> students = studentRepository.streamAllByOrderByIdAsc()) {
+            students.forEach(student -> {
+                if (writer.writeRow(student.getId(), student.getStudentId(), student.getName(),
+                        student.getDepartment() != null ? student.getDepartment().getId() : null)) {
+                    entityManager.clear();
+                }
+            });
+        }
+        writer.flush();
+    }
+
     public Optional<Student> findById(Long id) {
         return studentRepository.findById(id);
     }
 
-    public void removeStudent(Long id) {
-        studentRepository.deleteById(id);
+    /**
+     * Applies the non-null fields of {@code patch} with one UPDATE, without loading the student.
+     *
+     * @return false if there is no such student
+     */
+    public boolean patchStudent(Long id, StudentPatch patch) {
+        PartialUpdates.requireAnyField(patch.name(), patch.studentId());
+        int rows = studentRepository.patch(id, patch.name(), patch.studentId(), patch.version());
+        if (!PartialUpdates.updated(rows, Student.class, id, patch.version(), studentRepository::existsById)) {
+            return false;
+        }
+        changeTracker.changedAfterCommit(ChangeTracker.Table.STUDENTS);
+        eventPublisher.publishEvent(new SearchFieldsChangedEvent(SearchType.STUDENT, id, patch.name(),
+                patch.studentId(), null));
+        return true;
+    }
+
+    /**
+     * Deletes the student without loading it: the seats it held are given back first, then one DELETE
+     * removes the student (Hibernate clears its enrollment rows ahead of it). Freed seats are filled
+     * from the waitlist by the periodic sweep.
+     *
+     * @return false if there is no such student
+     */
+    public boolean removeStudent(Long id) {
+        courseRepository.releaseSeatsOfStudents(List.of(id));
+        if (studentRepository.removeById(id) == 0) {
+            return false;
+        }
+        changeTracker.changedAfterCommit(ChangeTracker.Table.STUDENTS);
+        changeTracker.changedAfterCommit(ChangeTracker.Table.ENROLLMENTS);
+        eventPublisher.publishEvent(new SearchDocumentsRemovedEvent(SearchType.STUDENT, List.of(id)));
+        return true;
     }
 
     public List<Student> findByStudentName(String name) {
@@ -0,0 +1,18 @@
+package com.example.assignment.service;
+
+import com.example.assignment.service.ChangeTracker.Table;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shared per-table versions behind {@link ChangeTracker}: one version per {@link Table}, seen by every instance,
+ * so a list ETag issued by one instance is invalidated by a write made on any other.
+ */
+public interface TableVersions {
+
+    // Moves each table's version once and returns the new versions
+    Map<Table, Long> bump(Set<Table> tables);
+
+    Map<Table, Long> readAll();
+}
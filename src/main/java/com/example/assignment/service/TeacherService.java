@@ -1,27 +1,72 @@
 package com.example.assignment.service;
 
+import com.example.assignment.dto.BulkResult;
+import com.example.assignment.dto.CursorPage;
+import com.example.assignment.dto.SearchType;
+import com.example.assignment.dto.TeacherPatch;
 import com.example.assignment.entity.Teacher;
 import com.example.assignment.repository.TeacherRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
+@Timed("app.service")
 @Transactional
 public class TeacherService {
 
     private final TeacherRepository teacherRepository;
+    private final EntityManager entityManager;
+    private final BulkInsertService bulkInsertService;
+    private final ChangeTracker changeTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CascadingDeleteService cascadingDeleteService;
 
-    public TeacherService(TeacherRepository teacherRepository) {
+    public TeacherService(TeacherRepository teacherRepository, EntityManager entityManager,
+                          BulkInsertService bulkInsertService, ChangeTracker changeTracker,
+                          ApplicationEventPublisher eventPublisher, CascadingDeleteService cascadingDeleteService) {
         this.teacherRepository = teacherRepository;
+        this.entityManager = entityManager;
+        this.bulkInsertService = bulkInsertService;
+        this.changeTracker = changeTracker;
+        this.eventPublisher = eventPublisher;
+        this.cascadingDeleteService = cascadingDeleteService;
     }
 
     public List<Teacher> findAllTeachers() {
         return teacherRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<Teacher> findTeachersAfter(long after, int limit) {
+        List<Teacher> rows = teacherRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, Teacher::getId);
+    }
+
+    // Same streaming contract as StudentService.exportStudents
+    @Transactional(readOnly = true)
+    public void exportTeachers(ExportFormat format, OutputStream out) {
+        ExportWriter writer = new ExportWriter(format, out, "id", "teacherId", "name", "email", "departmentId");
+        try (Stream<Teacher> teachers = teacherRepository.streamAllByOrderByIdAsc()) {
+            teachers.forEach(teacher -> {
+                if (writer.writeRow(teacher.getId(), teacher.getTeacherId(), teacher.getName(), teacher.getEmail(),
+                        teacher.getDepartment() != null ? teacher.getDepartment().getId() : null)) {
+                    entityManager.clear();
+                }
+            });
+        }
+        writer.flush();
+    }
+
     public Optional<Teacher> findById(Long id) {
         return teacherRepository.findById(id);
     }
@@ -30,6 +75,11 @@ public class TeacherService {
         return teacherRepository.save(teacher);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkResult saveTeachersInBulk(List<Teacher> teachers) {
+        return bulkInsertService.insertAll(teachers, Teacher::getId, Teacher::setId);
+    }
+
     public void registerFromUI(String name, String teacherId) {
         Teacher teacher = new Teacher();
         teacher.setName(name);
@@ -37,8 +87,27 @@ public class TeacherService {
         teacherRepository.save(teacher);
     }
 
-    public void deleteTeacher(Long id) {
-        teacherRepository.deleteById(id);
+    /**
+     * Applies the non-null fields of {@code patch} with one UPDATE, without loading the teacher.
+     *
+     * @return false if there is no such teacher
+     */
+    public boolean patchTeacher(Long id, TeacherPatch patch) {
+        PartialUpdates.requireAnyField(patch.name(), patch.email(), patch.teacherId());
+        int rows = teacherRepository.patch(id, patch.name(), patch.email(), patch.teacherId(), patch.version());
+        if (!PartialUpdates.updated(rows, Teacher.class, id, patch.version(), teacherRepository::existsById)) {
+            return false;
+        }
+        changeTracker.changedAfterCommit(ChangeTracker.Table.TEACHERS);
+        eventPublisher.publishEvent(new SearchFieldsChangedEvent(SearchType.TEACHER, id, patch.name(),
+                patch.teacherId(), patch.email() != null ? List.of(patch.email()) : null));
+        return true;
+    }
+
+    // With the courses the teacher gives; given a chunk size, each batch of courses commits on its own
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean deleteTeacher(Long id, Integer chunkSize) {
+        return cascadingDeleteService.deleteTeacher(id, chunkSize);
     }
 
     public boolean existsById(Long id) {
@@ -0,0 +1,156 @@
+package com.example.assignment.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Issues and verifies short-lived HMAC-SHA256 signed access tokens for the REST API.
+ * A token is {@code base64url(username \n roles \n expiry \n studentId \n teacherId) . base64url(signature)}; verifying it
+ * needs no database access and no password hashing, which is the point of exchanging Basic auth for it.
+ * Tokens cannot be revoked before they expire, so keep the ttl short.
+ */
+@Service
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final Clock clock;
+    // Mac instances are not thread-safe; cloning a keyed prototype is cheaper than getInstance+init
+    // and, unlike a ThreadLocal, stays cheap when every request runs on a fresh virtual thread
+    private final Mac prototype;
+
+    @Autowired
+    public TokenService(@Value("${app.security.token.secret:}") String secret,
+                        @Value("${app.security.token.ttl:15m}") Duration ttl) {
+        this(secret, ttl, Clock.systemUTC());
+    }
+
+    TokenService(String secret, Duration ttl, Clock clock) {
+        this.key = new SecretKeySpec(resolveSecret(secret), ALGORITHM);
+        this.ttl = ttl;
+        this.clock = clock;
+        this.prototype = newMac();
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public String issue(Authentication authentication) {
+        String username = authentication.getName();
+        if (username.indexOf('\n') >= 0) {
+            throw new IllegalArgumentException("Username cannot be encoded in a token");
+        }
+        String roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(","));
+        long expiresAt = clock.instant().plus(ttl).getEpochSecond();
+        Long studentId = null;
+        Long teacherId = null;
+        if (authentication.getPrincipal() instanceof AccountUserDetails account) {
+            studentId = account.getStudentId();
+            teacherId = account.getTeacherId();
+        }
+        String payload = ENCODER.encodeToString((username + "\n" + roles + "\n" + expiresAt
+                + "\n" + orEmpty(studentId) + "\n" + orEmpty(teacherId)).getBytes(StandardCharsets.UTF_8));
+        return payload + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    /**
+     * Returns the authenticated principal carried by a valid, unexpired token, or empty otherwise.
+     */
+    public Optional<Authentication> verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return Optional.empty();
+        }
+        String payload = token.substring(0, dot);
+        try {
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                return Optional.empty();
+            }
+            String[] claims = new String(DECODER.decode(payload), StandardCharsets.UTF_8).split("\n", -1);
+            if (claims.length != 5 || Long.parseLong(claims[2]) <= clock.instant().getEpochSecond()) {
+                return Optional.empty();
+            }
+            List<GrantedAuthority> authorities = AuthorityUtils.commaSeparatedStringToAuthorityList(claims[1]);
+            AccountUserDetails principal = new AccountUserDetails(claims[0], "", true, authorities,
+                    parseId(claims[3]), parseId(claims[4]));
+            principal.eraseCredentials();
+            return Optional.of(UsernamePasswordAuthenticationToken.authenticated(principal, null, authorities));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String payload) {
+        return copyOfMac().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String orEmpty(Long id) {
+        return id == null ? "" : id.toString();
+    }
+
+    private static Long parseId(String claim) {
+        return claim.isEmpty() ? null : Long.valueOf(claim);
+    }
+
+    private Mac copyOfMac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException ex) {
+            return newMac(); // provider without clone support
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance(ALGORITHM);
+            instance.init(key);
+            return instance;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Cannot initialise " + ALGORITHM, ex);
+        }
+    }
+
+    private static byte[] resolveSecret(String secret) {
+        if (secret == null || secret.isBlank()) {
+            // Fine for a single dev instance; tokens become invalid on restart and across instances
+            log.warn("app.security.token.secret is not set, using a random signing key");
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        byte[] decoded = Base64.getDecoder().decode(secret);
+        if (decoded.length < 32) {
+            throw new IllegalStateException("app.security.token.secret must be at least 256 bits (base64)");
+        }
+        return decoded;
+    }
+}
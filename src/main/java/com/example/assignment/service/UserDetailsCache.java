@@ -0,0 +1,57 @@
+package com.example.assignment.service;
+
+import com.example.assignment.dto.CacheRegionStats;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, TTL-based cache of loaded users consulted by the DaoAuthenticationProvider before it
+ * calls {@link CustomUserDetailsService}. A cached user whose password no longer matches is reloaded
+ * by the provider itself; changes to the users table are evicted by UserCacheEvictionListener.
+ */
+@Service
+public class UserDetailsCache implements UserCache {
+
+    private final Cache<String, UserDetails> cache;
+    private final LongAdder puts = new LongAdder();
+
+    public UserDetailsCache(@Value("${app.security.user-cache.max-size:10000}") long maxSize,
+                            @Value("${app.security.user-cache.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    // Copies on the way in and out: ProviderManager erases the returned principal's password after login
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        UserDetails user = cache.getIfPresent(username);
+        return user == null ? null : AccountUserDetails.copyOf(user, user.getPassword());
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        cache.put(user.getUsername(), AccountUserDetails.copyOf(user, user.getPassword()));
+        puts.increment();
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        cache.invalidate(username);
+    }
+
+    public CacheRegionStats getStatistics() {
+        CacheStats stats = cache.stats();
+        return new CacheRegionStats(stats.hitCount(), stats.missCount(), puts.sum(), cache.estimatedSize());
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.assignment.service;
+
+import com.example.assignment.dto.WaitlistStatistics;
+import com.example.assignment.entity.WaitlistEntry;
+import com.example.assignment.repository.CourseRepository;
+import com.example.assignment.repository.WaitlistRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Moves waitlisted students into free seats, first come first served per course.
+ *
+ * Each batch is one transaction per course: the course row is locked with FOR UPDATE SKIP LOCKED, up to
+ * min(free seats, batch-size) entries are taken from the head of its queue, enrolled, counted against the
+ * seat counter and removed from the waitlist. The course lock serializes promotions of one course across
+ * threads and app instances while letting them work on different courses, and keeps the queue order: a
+ * course that is locked elsewhere is skipped, and that holder promotes it.
+ *
+ * Promotion is triggered after commit of an unenrollment or a waitlist join ({@link SeatsFreedEvent}), off
+ * the request thread, and by a periodic sweep that picks up anything missed (other instances, restarts,
+ * capacity raised through PUT /api/courses).
+ */
+@Component
+public class WaitlistPromoter {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitlistPromoter.class);
+
+    private final CourseRepository courseRepository;
+    private final WaitlistRepository waitlistRepository;
+    private final ChangeTracker changeTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int batchSize;
+
+    private final LongAdder promoted = new LongAdder();
+    private final LongAdder dequeued = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder skippedLocked = new LongAdder();
+    private final LongAdder totalLagMillis = new LongAdder();
+    private final AtomicLong lastLagMillis = new AtomicLong();
+    private final LongAccumulator maxLagMillis = new LongAccumulator(Math::max, 0);
+    private final AtomicLong pending = new AtomicLong();
+    private final Timer lag;
+
+    public WaitlistPromoter(CourseRepository courseRepository,
+                            WaitlistRepository waitlistRepository,
+                            ChangeTracker changeTracker,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.waitlist.batch-size:100}") int batchSize) {
+        this.courseRepository = courseRepository;
+        this.waitlistRepository = waitlistRepository;
+        this.changeTracker = changeTracker;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = Clock.systemUTC();
+        this.batchSize = batchSize;
+        this.lag = Timer.builder("app.waitlist.lag")
+                .description("Time each promoted entry spent on the waitlist")
+                .register(meterRegistry);
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsFreed(SeatsFreedEvent event) {
+        promote(event.courseId());
+    }
+
+    @Scheduled(fixedDelayString = "${app.waitlist.sweep-interval:PT30S}",
+            initialDelayString = "${app.waitlist.sweep-interval:PT30S}")
+    public void sweep() {
+        for (Long courseId : waitlistRepository.findCourseIdsReadyForPromotion()) {
+            try {
+                promote(courseId);
+            } catch (RuntimeException e) {
+                log.warn("Waitlist promotion failed for course {}", courseId, e);
+            }
+        }
+        pending.set(waitlistRepository.count());
+    }
+
+    // Waitlist size as of the last sweep, so reading it (a metrics scrape, say) runs no query
+    public long getPendingAtLastSweep() {
+        return pending.get();
+    }
+
+    /**
+     * Promotes batches until the course has no free seat, an empty waitlist or is locked elsewhere.
+     *
+     * @return the number of students enrolled
+     */
+    public int promote(Long courseId) {
+        int total = 0;
+        Batch batch;
+        do {
+            batch = transactionTemplate.execute(status -> promoteBatch(courseId));
+            record(batch);
+            total += batch.enrolled();
+        } while (batch.taken() == batchSize);
+        return total;
+    }
+
+    private Batch promoteBatch(Long courseId) {
+        Optional<Integer> freeSeats = courseRepository.lockFreeSeats(courseId, batchSize);
+        if (freeSeats.isEmpty()) {
+            return Batch.LOCKED;
+        }
+        int seats = Math.min(freeSeats.get(), batchSize);
+        if (seats <= 0) {
+            return Batch.EMPTY;
+        }
+        List<WaitlistEntry> entries = waitlistRepository.findByCourseIdOrderByIdAsc(courseId, Limit.of(seats));
+        if (entries.isEmpty()) {
+            return Batch.EMPTY;
+        }
+        List<Long> ids = entries.stream().map(WaitlistEntry::getId).toList();
+        // Entries of students who got in some other way are just dropped from the queue
+        int enrolled = waitlistRepository.enrollEntries(ids);
+        if (enrolled > 0) {
+            courseRepository.claimSeats(courseId, enrolled); // cannot fail: seats were checked under the row lock
+            changeTracker.changedAfterCommit(ChangeTracker.Table.ENROLLMENTS);
+        }
+        waitlistRepository.deleteEntries(ids);
+
+        Instant now = clock.instant();
+        List<Duration> lags = entries.stream().map(e -> Duration.between(e.getRequestedAt(), now)).toList();
+        return new Batch(false, entries.size(), enrolled, lags);
+    }
+
+    // Counted only once the batch has committed
+    private void record(Batch batch) {
+        if (batch.locked()) {
+            skippedLocked.increment();
+            return;
+        }
+        if (batch.taken() == 0) {
+            return;
+        }
+        batches.increment();
+        promoted.add(batch.enrolled());
+        dequeued.add(batch.taken());
+        for (Duration entryLag : batch.lags()) {
+            lag.record(entryLag);
+            totalLagMillis.add(entryLag.toMillis());
+        }
+        long headLagMillis = batch.lags().get(0).toMillis();
+        lastLagMillis.set(headLagMillis);
+        maxLagMillis.accumulate(headLagMillis);
+    }
+
+    public WaitlistStatistics getStatistics(long pending) {
+        long dequeuedCount = dequeued.sum();
+        double averageLag = dequeuedCount == 0 ? 0 : (double) totalLagMillis.sum() / dequeuedCount;
+        return new WaitlistStatistics(pending, promoted.sum(), batches.sum(), skippedLocked.sum(),
+                lastLagMillis.get(), maxLagMillis.get(), averageLag);
+    }
+
+    // Lags of the taken entries in queue order, the head first
+    private record Batch(boolean locked, int taken, int enrolled, List<Duration> lags) {
+        static final Batch LOCKED = new Batch(true, 0, 0, List.of());
+        static final Batch EMPTY = new Batch(false, 0, 0, List.of());
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.assignment.service;
+
+import com.example.assignment.dto.WaitlistPosition;
+import com.example.assignment.dto.WaitlistStatistics;
+import com.example.assignment.exception.BadRequestException;
+import com.example.assignment.exception.ResourceNotFoundException;
+import com.example.assignment.repository.CourseRepository;
+import com.example.assignment.repository.WaitlistRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Students queueing for a seat on a full course. Joining never enrolls directly: the seat, if any, is
+ * handed out by {@link WaitlistPromoter} after commit, so the queue order is the only way in while
+ * anyone is waiting (see EnrollmentService.enrollSelf).
+ */
+@Service
+@Timed("app.service")
+@Transactional
+public class WaitlistService {
+
+    private final WaitlistRepository waitlistRepository;
+    private final CourseRepository courseRepository;
+    private final WaitlistPromoter waitlistPromoter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public WaitlistService(WaitlistRepository waitlistRepository, CourseRepository courseRepository,
+                           WaitlistPromoter waitlistPromoter, ApplicationEventPublisher eventPublisher) {
+        this.waitlistRepository = waitlistRepository;
+        this.courseRepository = courseRepository;
+        this.waitlistPromoter = waitlistPromoter;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Idempotent: joining again keeps the original place
+    public WaitlistPosition join(Long courseId, Long studentId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new ResourceNotFoundException("Course not found: " + courseId);
+        }
+        if (courseRepository.isEnrolled(courseId, studentId)) {
+            throw new BadRequestException("Student " + studentId + " is already enrolled in course " + courseId);
+        }
+        if (waitlistRepository.join(courseId, studentId, Instant.now()) > 0) {
+            eventPublisher.publishEvent(new SeatsFreedEvent(courseId));
+        }
+        return new WaitlistPosition(courseId, waitlistRepository.findPosition(courseId, studentId));
+    }
+
+    public void leave(Long courseId, Long studentId) {
+        if (waitlistRepository.leave(courseId, studentId) == 0) {
+            throw new ResourceNotFoundException("Student " + studentId + " is not on the waitlist of course " + courseId);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public WaitlistPosition getPosition(Long courseId, Long studentId) {
+        long position = waitlistRepository.findPosition(courseId, studentId);
+        if (position == 0) {
+            throw new ResourceNotFoundException("Student " + studentId + " is not on the waitlist of course " + courseId);
+        }
+        return new WaitlistPosition(courseId, position);
+    }
+
+    @Transactional(readOnly = true)
+    public WaitlistStatistics getStatistics() {
+        return waitlistPromoter.getStatistics(waitlistRepository.count());
+    }
+}
@@ -0,0 +1,54 @@
+-- Schema as previously generated by ddl-auto: update. Databases created that way are baselined at
+-- this version (spring.flyway.baseline-on-migrate) and only receive the migrations after it, so this
+-- file must stay exactly the pre-migration schema: identity ids, no sequences, no account links.
+
+create table departments (
+    id   bigint generated by default as identity,
+    name varchar(255) unique,
+    primary key (id)
+);
+
+create table students (
+    id            bigint generated by default as identity,
+    name          varchar(255),
+    student_id    varchar(255) unique,
+    department_id bigint,
+    primary key (id),
+    constraint fk_students_department foreign key (department_id) references departments (id)
+);
+
+create table teachers (
+    id            bigint generated by default as identity,
+    name          varchar(255),
+    teacher_id    varchar(255) unique,
+    email         varchar(255),
+    department_id bigint,
+    primary key (id),
+    constraint fk_teachers_department foreign key (department_id) references departments (id)
+);
+
+create table courses (
+    id          bigint generated by default as identity,
+    course_code varchar(255) unique,
+    title       varchar(255),
+    teacher_id  bigint,
+    primary key (id),
+    constraint fk_courses_teacher foreign key (teacher_id) references teachers (id)
+);
+
+create table student_course_enrollment (
+    course_id  bigint not null,
+    student_id bigint not null,
+    constraint student_course_enrollment_pkey primary key (course_id, student_id),
+    constraint fk_enrollment_course foreign key (course_id) references courses (id),
+    constraint fk_enrollment_student foreign key (student_id) references students (id)
+);
+
+create table users (
+    id       bigint generated by default as identity,
+    username varchar(255) not null unique,
+    password varchar(255) not null,
+    role     varchar(255) not null,
+    enabled  boolean      not null,
+    primary key (id)
+);
@@ -0,0 +1,18 @@
+-- Indexes for the query paths the application actually runs; MigrationIndexTest checks the plans.
+
+-- Enrollment is read from both sides: a student's courses (student_id = ?) and a course's
+-- students / enrolled counts (course_id = ?). Key on the student side, cover the course side.
+alter table student_course_enrollment drop constraint student_course_enrollment_pkey;
+alter table student_course_enrollment
+    add constraint student_course_enrollment_pkey primary key (student_id, course_id);
+create index ix_enrollment_course_student on student_course_enrollment (course_id, student_id);
+
+-- Department member listings seek (department_id, id > after) in id order; also serve the counts
+create index ix_students_department_id on students (department_id, id);
+create index ix_teachers_department_id on teachers (department_id, id);
+
+-- Teacher.courses, the course summary join and the teacher-side delete cascade
+create index ix_courses_teacher_id on courses (teacher_id);
+
+-- StudentService.findByName
+create index ix_students_name on students (name);
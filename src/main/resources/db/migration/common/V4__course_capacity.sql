@@ -0,0 +1,10 @@
+-- Seat allocation: capacity is optional (null = unlimited); enrolled_count is a counter kept in step with
+-- student_course_enrollment by the enrollment statements, so claiming a seat is one conditional UPDATE.
+alter table courses add column capacity integer;
+alter table courses add column enrolled_count integer default 0 not null;
+
+update courses set enrolled_count =
+    (select count(*) from student_course_enrollment e where e.course_id = courses.id);
+
+alter table courses add constraint ck_courses_capacity check (capacity is null or capacity >= 0);
+alter table courses add constraint ck_courses_enrolled_count check (enrolled_count >= 0);
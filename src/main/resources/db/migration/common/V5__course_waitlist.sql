@@ -0,0 +1,16 @@
+-- Students waiting for a seat, served first come first served per course (ordered by id)
+create table course_waitlist (
+    id           bigint generated by default as identity,
+    course_id    bigint                   not null,
+    student_id   bigint                   not null,
+    requested_at timestamp with time zone not null,
+    primary key (id),
+    constraint uk_waitlist_course_student unique (course_id, student_id),
+    constraint fk_waitlist_course foreign key (course_id) references courses (id) on delete cascade,
+    constraint fk_waitlist_student foreign key (student_id) references students (id) on delete cascade
+);
+
+-- The promoter reads a course's queue head: course_id = ? order by id
+create index ix_waitlist_course_id on course_waitlist (course_id, id);
+-- Student deletes cascade here
+create index ix_waitlist_student_id on course_waitlist (student_id);
@@ -0,0 +1,5 @@
+-- Optimistic lock versions, also the per-entity part of the API's ETags. Existing rows start at 0.
+alter table departments add column version bigint default 0 not null;
+alter table students add column version bigint default 0 not null;
+alter table teachers add column version bigint default 0 not null;
+alter table courses add column version bigint default 0 not null;
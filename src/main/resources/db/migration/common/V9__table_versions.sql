@@ -0,0 +1,14 @@
+-- One version per ChangeTracker.Table, moved after each committed write to that table. List ETags are
+-- built from these rows so every instance issues and invalidates the same tags. Seeded from the clock
+-- (milliseconds) so a recreated database never hands out a tag an old one already issued.
+create table table_versions (
+    name    varchar(32) primary key,
+    version bigint not null
+);
+
+insert into table_versions (name, version) values
+    ('DEPARTMENTS', cast(extract(epoch from current_timestamp) * 1000 as bigint)),
+    ('STUDENTS', cast(extract(epoch from current_timestamp) * 1000 as bigint)),
+    ('TEACHERS', cast(extract(epoch from current_timestamp) * 1000 as bigint)),
+    ('COURSES', cast(extract(epoch from current_timestamp) * 1000 as bigint)),
+    ('ENROLLMENTS', cast(extract(epoch from current_timestamp) * 1000 as bigint));
@@ -0,0 +1,11 @@
+-- H2 counterpart of the PostgreSQL migration: create the pooled sequences and start each one past
+-- the highest identity-assigned id (plus one pooled block).
+create sequence if not exists departments_seq start with 1 increment by 50;
+create sequence if not exists students_seq start with 1 increment by 50;
+create sequence if not exists teachers_seq start with 1 increment by 50;
+create sequence if not exists courses_seq start with 1 increment by 50;
+
+alter sequence departments_seq restart with (select coalesce(max(id), 0) + 50 from departments);
+alter sequence students_seq restart with (select coalesce(max(id), 0) + 50 from students);
+alter sequence teachers_seq restart with (select coalesce(max(id), 0) + 50 from teachers);
+alter sequence courses_seq restart with (select coalesce(max(id), 0) + 50 from courses);
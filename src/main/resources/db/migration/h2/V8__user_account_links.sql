@@ -0,0 +1,11 @@
+-- H2 counterpart of the PostgreSQL migration: accounts link to their own Student/Teacher record and
+-- deleting the record only unlinks the account.
+alter table users add column if not exists student_id bigint;
+alter table users add column if not exists teacher_id bigint;
+
+alter table users add constraint if not exists users_student_id_key unique (student_id);
+alter table users add constraint if not exists users_teacher_id_key unique (teacher_id);
+alter table users add constraint if not exists fk_users_student
+    foreign key (student_id) references students (id) on delete set null;
+alter table users add constraint if not exists fk_users_teacher
+    foreign key (teacher_id) references teachers (id) on delete set null;
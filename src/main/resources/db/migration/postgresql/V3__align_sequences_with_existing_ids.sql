@@ -0,0 +1,11 @@
+-- Tables created before the switch to pooled sequences got their ids from identity columns and have
+-- no sequences yet. Create them, then move each one past the highest id (plus one pooled block).
+create sequence if not exists departments_seq start with 1 increment by 50;
+create sequence if not exists students_seq start with 1 increment by 50;
+create sequence if not exists teachers_seq start with 1 increment by 50;
+create sequence if not exists courses_seq start with 1 increment by 50;
+
+select setval('departments_seq', (select coalesce(max(id), 0) from departments) + 50);
+select setval('students_seq', (select coalesce(max(id), 0) from students) + 50);
+select setval('teachers_seq', (select coalesce(max(id), 0) from teachers) + 50);
+select setval('courses_seq', (select coalesce(max(id), 0) from courses) + 50);
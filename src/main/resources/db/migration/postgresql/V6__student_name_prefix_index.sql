@@ -0,0 +1,4 @@
+-- GET /api/students/query filters with name like 'prefix%'. Under a non-C collation a plain btree on
+-- name cannot serve LIKE, so add a pattern_ops index for the prefix seek; ix_students_name keeps the
+-- equality lookups. H2 matches LIKE prefixes on ix_students_name directly and needs nothing here.
+create index ix_students_name_pattern on students (name varchar_pattern_ops);
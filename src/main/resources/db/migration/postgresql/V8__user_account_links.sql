@@ -0,0 +1,22 @@
+-- Accounts link to their own Student/Teacher record; deleting the record only unlinks the account.
+-- Guarded so it also applies to databases that already have the links.
+alter table users add column if not exists student_id bigint;
+alter table users add column if not exists teacher_id bigint;
+
+do $$
+begin
+    if not exists (select 1 from pg_constraint where conname = 'users_student_id_key') then
+        alter table users add constraint users_student_id_key unique (student_id);
+    end if;
+    if not exists (select 1 from pg_constraint where conname = 'users_teacher_id_key') then
+        alter table users add constraint users_teacher_id_key unique (teacher_id);
+    end if;
+    if not exists (select 1 from pg_constraint where conname = 'fk_users_student') then
+        alter table users add constraint fk_users_student
+            foreign key (student_id) references students (id) on delete set null;
+    end if;
+    if not exists (select 1 from pg_constraint where conname = 'fk_users_teacher') then
+        alter table users add constraint fk_users_teacher
+            foreign key (teacher_id) references teachers (id) on delete set null;
+    end if;
+end $$;
@@ -0,0 +1,97 @@
+package com.example.assignment;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Migrates a database the way an existing installation is adopted: the schema the former
+ * ddl-auto: update produced (V1) with data already in it, baselined at V1, then every later migration.
+ */
+class BaselineMigrationTest {
+
+    private JdbcDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createBaselineDatabase() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:baseline-" + System.nanoTime()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/common/V1__baseline_schema.sql"))
+                .execute(dataSource);
+
+        // Identity-assigned ids, as the pre-migration application left them
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("insert into departments (id, name) values (120, 'Physics')");
+        jdbcTemplate.update("insert into teachers (id, name, teacher_id, department_id) values (7, 'Ada', 'T-7', 120)");
+        jdbcTemplate.update("insert into students (id, name, student_id, department_id) values (340, 'Bob', 'S-340', 120)");
+        jdbcTemplate.update("insert into courses (id, course_code, title, teacher_id) values (9, 'PHY101', 'Mechanics', 7)");
+        jdbcTemplate.update("insert into student_course_enrollment (course_id, student_id) values (9, 340)");
+        jdbcTemplate.update("insert into users (username, password, role, enabled) values ('bob', 'x', 'ROLE_STUDENT', true)");
+    }
+
+    /**
+     * Test 1: every migration after the baseline applies to the pre-migration schema
+     */
+    @Test
+    void baselinedDatabase_ReceivesEveryLaterMigration() {
+        MigrateResult result = migrate();
+
+        assertThat(result.success).isTrue();
+        assertThat(result.initialSchemaVersion).isEqualTo("1");
+        assertThat(result.migrationsExecuted).isGreaterThan(0);
+        assertThat(jdbcTemplate.queryForObject("select enrolled_count from courses where id = 9", Integer.class))
+                .isEqualTo(1);
+    }
+
+    /**
+     * Test 2: the new sequences start past the ids the identity columns handed out
+     */
+    @Test
+    void sequences_StartPastExistingIds() {
+        migrate();
+
+        assertThat(nextValue("departments_seq")).isGreaterThan(120);
+        assertThat(nextValue("students_seq")).isGreaterThan(340);
+        assertThat(nextValue("teachers_seq")).isGreaterThan(7);
+        assertThat(nextValue("courses_seq")).isGreaterThan(9);
+    }
+
+    /**
+     * Test 3: existing accounts gain the record links, and deleting a record only unlinks the account
+     */
+    @Test
+    void accountLinks_AreAddedToExistingUsers() {
+        migrate();
+
+        jdbcTemplate.update("update users set student_id = 340 where username = 'bob'");
+        jdbcTemplate.update("delete from student_course_enrollment where student_id = 340");
+        jdbcTemplate.update("delete from students where id = 340");
+
+        assertThat(jdbcTemplate.queryForObject("select student_id from users where username = 'bob'", Long.class))
+                .isNull();
+    }
+
+    private MigrateResult migrate() {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+    }
+
+    private long nextValue(String sequence) {
+        return jdbcTemplate.queryForObject("select nextval('" + sequence + "')", Long.class);
+    }
+}
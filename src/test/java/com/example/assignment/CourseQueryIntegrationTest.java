@@ -0,0 +1,381 @@
+package com.example.assignment;
+
+import com.example.assignment.dto.CourseSummary;
+import com.example.assignment.dto.CursorPage;
+import com.example.assignment.dto.DepartmentOverview;
+import com.example.assignment.dto.EnrollmentResult;
+import com.example.assignment.entity.Course;
+import com.example.assignment.entity.Department;
+import com.example.assignment.entity.Student;
+import com.example.assignment.entity.Teacher;
+import com.example.assignment.exception.CourseFullException;
+import com.example.assignment.repository.CourseRepository;
+import com.example.assignment.repository.DepartmentRepository;
+import com.example.assignment.repository.StudentRepository;
+import com.example.assignment.repository.TeacherRepository;
+import com.example.assignment.service.CourseService;
+import com.example.assignment.service.DepartmentService;
+import com.example.assignment.service.EnrollmentService;
+import com.example.assignment.service.StudentService;
+import com.example.assignment.service.WaitlistPromoter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that course listings run a fixed number of SQL statements
+ * regardless of how many courses, teachers and enrollments are on the page.
+ * The waitlist promoter is mocked so its after-commit work does not show up in the statement counts.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+class CourseQueryIntegrationTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @MockBean
+    private WaitlistPromoter waitlistPromoter;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+        teacherRepository.deleteAll();
+
+        for (int i = 1; i <= 5; i++) {
+            Teacher teacher = new Teacher();
+            teacher.setName("Teacher " + i);
+            teacher.setTeacherId("QT" + i);
+            teacherRepository.save(teacher);
+
+            Course course = new Course();
+            course.setTitle("Course " + i);
+            course.setCourseCode("QC" + i);
+            course.setTeacher(teacher);
+            courseRepository.save(course);
+
+            for (int j = 1; j <= i; j++) {
+                Student student = new Student();
+                student.setName("Student " + i + "." + j);
+                student.setStudentId("QS" + i + "." + j);
+                student.setCourses(Set.of(course));
+                studentRepository.save(student);
+            }
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findCoursesAfter_LoadsTeachersAndEnrollmentsInTwoQueries() throws Exception {
+        // Act - serialize outside the transaction: anything not fetched up front would fail lazily
+        CursorPage<Course> page = courseService.findCoursesAfter(0, 50);
+        String json = objectMapper.writeValueAsString(page.items());
+
+        // Assert
+        assertThat(page.items()).extracting(Course::getCourseCode).contains("QC1", "QC5");
+        assertThat(json).contains("Teacher 5", "Student 5.5");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void findCourseSummariesAfter_CountsEnrollmentsInOneQuery() {
+        // Act
+        CursorPage<CourseSummary> page = courseService.findCourseSummariesAfter(0, 50);
+
+        // Assert
+        assertThat(page.items())
+                .filteredOn(summary -> summary.courseCode().startsWith("QC"))
+                .extracting(CourseSummary::teacherName, CourseSummary::enrolledCount)
+                .containsExactly(
+                        tuple("Teacher 1", 1L),
+                        tuple("Teacher 2", 2L),
+                        tuple("Teacher 3", 3L),
+                        tuple("Teacher 4", 4L),
+                        tuple("Teacher 5", 5L));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findDepartmentOverviewsAfter_CountsMembersInOneQuery() {
+        // Arrange - teachers 4 and 5 (with their 2 courses and 9 students) join a new department
+        Department department = new Department();
+        department.setName("Query Department");
+        departmentRepository.save(department);
+        for (Teacher teacher : teacherRepository.findAll()) {
+            if (teacher.getTeacherId().equals("QT4") || teacher.getTeacherId().equals("QT5")) {
+                teacher.setDepartment(department);
+                teacherRepository.save(teacher);
+            }
+        }
+        for (Student student : studentRepository.findAll()) {
+            if (student.getStudentId().startsWith("QS4") || student.getStudentId().startsWith("QS5")) {
+                student.setDepartment(department);
+                studentRepository.save(student);
+            }
+        }
+        statistics.clear();
+
+        // Act
+        CursorPage<DepartmentOverview> page = departmentService.findDepartmentOverviewsAfter(department.getId() - 1, 1);
+
+        // Assert
+        assertThat(page.items()).containsExactly(
+                new DepartmentOverview(department.getId(), "Query Department", 9, 2, 2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void teacherCourses_AreCachedAndEvictedOnCourseWrites() {
+        // Arrange - warm the second-level cache with the teacher and its course collection
+        Long teacherId = teacherRepository.findAll().stream()
+                .filter(teacher -> teacher.getTeacherId().equals("QT1"))
+                .findFirst().orElseThrow().getId();
+        assertThat(countTeacherCourses(teacherId)).isEqualTo(1);
+        statistics.clear();
+
+        // Act & Assert - a repeated read is served from the cache without SQL
+        assertThat(countTeacherCourses(teacherId)).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(2);
+
+        // Act & Assert - a course written on the owning side is visible through the cached inverse collection
+        Course course = new Course();
+        course.setTitle("Course 1b");
+        course.setCourseCode("QC1b");
+        course.setTeacher(teacherRepository.findById(teacherId).orElseThrow());
+        courseService.saveCourse(course);
+        assertThat(countTeacherCourses(teacherId)).isEqualTo(2);
+    }
+
+    @Test
+    void enroll_WholeLectureInOneStatement() {
+        // Arrange - 800 students, a cached course summary and a cached teacher
+        List<Student> lecture = new ArrayList<>();
+        for (int i = 0; i < 800; i++) {
+            Student student = new Student();
+            student.setName("Lecture " + i);
+            student.setStudentId("QL" + i);
+            lecture.add(student);
+        }
+        List<Long> studentIds = studentRepository.saveAll(lecture).stream().map(Student::getId).toList();
+        Course course = courseRepository.findAll().stream()
+                .filter(c -> c.getCourseCode().equals("QC1"))
+                .findFirst().orElseThrow();
+        Long teacherId = course.getTeacher().getId();
+        courseService.findCourseSummariesAfter(course.getId() - 1, 1);
+        countTeacherCourses(teacherId);
+        statistics.clear();
+
+        // Act
+        EnrollmentResult result = enrollmentService.enroll(course.getId(), studentIds);
+
+        // Assert - one INSERT ... SELECT plus one seat claim, no collection loads
+        assertThat(result.changed()).isEqualTo(800);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+
+        // Assert - the summary query re-runs and sees the new rows; unrelated cached entities survive
+        assertThat(courseService.findCourseSummariesAfter(course.getId() - 1, 1).items())
+                .extracting(CourseSummary::enrolledCount)
+                .containsExactly(801L);
+        assertThat(entityManagerFactory.getCache().contains(Teacher.class, teacherId)).isTrue();
+
+        // Act & Assert - enrolling again changes nothing; unenrolling removes them in one statement
+        assertThat(enrollmentService.enroll(course.getId(), studentIds).changed()).isZero();
+        statistics.clear();
+        assertThat(enrollmentService.unenroll(course.getId(), studentIds).changed()).isEqualTo(800);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void enroll_ConcurrentRequestsNeverOversell() throws Exception {
+        // Arrange - 10 seats, 50 students racing for them
+        Course course = new Course();
+        course.setTitle("Popular Course");
+        course.setCourseCode("QP1");
+        course.setCapacity(10);
+        Long courseId = courseRepository.save(course).getId();
+        List<Student> racers = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Student student = new Student();
+            student.setName("Racer " + i);
+            student.setStudentId("QR" + i);
+            racers.add(student);
+        }
+        List<Long> studentIds = studentRepository.saveAll(racers).stream().map(Student::getId).toList();
+
+        // Act
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        for (Long studentId : studentIds) {
+            attempts.add(executor.submit(() -> {
+                start.await();
+                try {
+                    return enrollmentService.enroll(courseId, List.of(studentId)).changed() == 1;
+                } catch (CourseFullException ex) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+        int enrolled = 0;
+        for (Future<Boolean> attempt : attempts) {
+            enrolled += attempt.get(30, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        executor.shutdown();
+
+        // Assert - exactly the capacity was granted, and the counter matches the join rows
+        assertThat(enrolled).isEqualTo(10);
+        assertThat(countEnrollments(courseId)).isEqualTo(10);
+        assertThat(seatCounter(courseId)).isEqualTo(10);
+
+        // Act & Assert - a course set saved through Student.courses claims seats too, so it cannot oversell
+        Student extra = new Student();
+        extra.setName("Via Courses");
+        extra.setStudentId("QR-courses");
+        extra.setCourses(Set.of(courseRepository.findById(courseId).orElseThrow()));
+        assertThatThrownBy(() -> studentService.saveStudent(extra)).isInstanceOf(CourseFullException.class);
+        assertThat(countEnrollments(courseId)).isEqualTo(10);
+        assertThat(seatCounter(courseId)).isEqualTo(10);
+
+        // Act & Assert - leaving the course through Student.courses gives the seat back
+        Long enrolledId = jdbcTemplate.queryForObject(
+                "select min(student_id) from student_course_enrollment where course_id = ?", Long.class, courseId);
+        Student leaving = studentRepository.findById(enrolledId).orElseThrow();
+        leaving.setCourses(new HashSet<>());
+        studentService.saveStudent(leaving);
+        assertThat(countEnrollments(courseId)).isEqualTo(9);
+        assertThat(seatCounter(courseId)).isEqualTo(9);
+    }
+
+    @Test
+    void getCourses_AnsweredWithoutStatementsUntilEnrollmentsChange() throws Exception {
+        // Arrange
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).apply(springSecurity()).build();
+        String etag = mockMvc.perform(get("/api/courses").with(user("poller")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn().getResponse().getHeader("ETag");
+        statistics.clear();
+
+        // Act & Assert - an unchanged listing is answered from the tag alone
+        mockMvc.perform(get("/api/courses").with(user("poller")).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        // Act & Assert - a repeat without a validator copies the cached bytes, still without SQL
+        mockMvc.perform(get("/api/courses").with(user("poller")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Response-Cache", "hit"));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        // Act & Assert - an enrollment written by native SQL moves the tag
+        Long courseId = courseRepository.findAll().get(0).getId();
+        Student student = new Student();
+        student.setName("Conditional");
+        student.setStudentId("QE1");
+        Long studentId = studentRepository.save(student).getId();
+        String afterSave = assertTagMoved(mockMvc, etag);
+        enrollmentService.enroll(courseId, List.of(studentId));
+        String afterEnroll = assertTagMoved(mockMvc, afterSave);
+
+        // Act & Assert - so does one made through Student.courses, which bumps the student's version
+        transactionTemplate.executeWithoutResult(status -> studentRepository.findById(studentId).orElseThrow()
+                .getCourses().add(courseRepository.findAll().get(1)));
+        assertTagMoved(mockMvc, afterEnroll);
+    }
+
+    private String assertTagMoved(MockMvc mockMvc, String etag) throws Exception {
+        return mockMvc.perform(get("/api/courses").with(user("poller")).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+    }
+
+    private int countEnrollments(Long courseId) {
+        return jdbcTemplate.queryForObject(
+                "select count(*) from student_course_enrollment where course_id = ?", Integer.class, courseId);
+    }
+
+    private int seatCounter(Long courseId) {
+        return jdbcTemplate.queryForObject("select enrolled_count from courses where id = ?", Integer.class, courseId);
+    }
+
+    private int countTeacherCourses(Long teacherId) {
+        return transactionTemplate.execute(status ->
+                teacherRepository.findById(teacherId).orElseThrow().getCourses().size());
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.assignment;
+
+import com.example.assignment.dto.StudentFilter;
+import com.example.assignment.repository.CourseRepository;
+import com.example.assignment.repository.StudentRepository;
+import com.example.assignment.repository.TeacherRepository;
+import com.example.assignment.repository.UserRepository;
+import com.example.assignment.repository.WaitlistRepository;
+import com.example.assignment.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the index set created by the Flyway migrations.
+ *
+ * Each hot query is run through the repository method that issues it, and the SQL Hibernate and Spring Data
+ * generate is recorded at the JDBC level, with its bound parameters, and explained. No recorded plan may be a
+ * table scan, and the schema must contain a declared index (primary key or ix_*) leading with the filtered
+ * columns. The second check matters because H2 indexes every foreign key on its own, while PostgreSQL does
+ * not: a plan can look fine here and still scan in production if the migration's index is missing.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Import(MigrationIndexTest.QueryRecorder.class)
+class MigrationIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private QueryRecorder queryRecorder;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Autowired
+    private StudentService studentService;
+
+    /**
+     * Test 1: department member listings seek on (department_id, id)
+     */
+    @Test
+    void departmentListings_UseDepartmentIndex() throws SQLException {
+        assertIndexed(() -> studentRepository.findByDepartmentIdAndIdGreaterThanOrderByIdAsc(1L, 0L, Limit.of(51)),
+                "students", "department_id", "id");
+        assertIndexed(() -> teacherRepository.findByDepartmentIdAndIdGreaterThanOrderByIdAsc(1L, 0L, Limit.of(51)),
+                "teachers", "department_id", "id");
+    }
+
+    /**
+     * Test 2: enrollment is indexed from both sides
+     */
+    @Test
+    void enrollment_IsIndexedFromBothSides() throws SQLException {
+        assertIndexed(() -> courseRepository.findCourseIdsByStudentId(1L),
+                "student_course_enrollment", "student_id", "course_id");
+        assertIndexed(() -> courseRepository.fetchStudentsByIdIn(List.of(1L)),
+                "student_course_enrollment", "course_id", "student_id");
+    }
+
+    /**
+     * Test 3: a teacher's courses
+     */
+    @Test
+    void coursesByTeacher_UseTeacherIndex() throws SQLException {
+        assertIndexed(() -> courseRepository.findIdsByTeacherId(1L, Limit.of(50)), "courses", "teacher_id");
+    }
+
+    /**
+     * Test 4: lookups by name and by username
+     */
+    @Test
+    void nameLookups_UseIndexes() throws SQLException {
+        assertIndexed(() -> studentRepository.findByName("John Doe"), "students", "name");
+        assertIndexed(() -> userRepository.findByUsername("student1"), "users", "username");
+    }
+
+    /**
+     * Test 5: the waitlist promoter reads a course's queue head in id order
+     */
+    @Test
+    void waitlistHead_UsesCourseQueueIndex() throws SQLException {
+        assertIndexed(() -> waitlistRepository.findByCourseIdOrderByIdAsc(1L, Limit.of(100)),
+                "course_waitlist", "course_id", "id");
+    }
+
+    /**
+     * Test 6: student query filters seek on name prefixes and studentId ranges
+     */
+    @Test
+    void studentQueryFilters_UseIndexes() throws SQLException {
+        assertIndexed(() -> studentService.queryStudents(new StudentFilter(null, null, "Ada", null, null), 0, 50),
+                "students", "name");
+        assertIndexed(() -> studentService.queryStudents(new StudentFilter(null, null, null, "R001", "R004"), 0, 50),
+                "students", "student_id");
+    }
+
+    private void assertIndexed(Runnable repositoryCall, String table, String... leadingColumns) throws SQLException {
+        List<RecordedQuery> queries = queryRecorder.record(repositoryCall);
+        assertThat(queries).as("queries run against %s", table).isNotEmpty();
+        for (RecordedQuery query : queries) {
+            String plan = jdbcTemplate.queryForObject("explain " + query.sql(), String.class,
+                    query.parameters().toArray());
+            assertThat(plan).as("plan of: %s", query.sql()).doesNotContainIgnoringCase("tableScan");
+        }
+
+        List<String> expected = Arrays.asList(leadingColumns);
+        Map<String, List<String>> indexes = declaredIndexes(table);
+        assertThat(indexes.values())
+                .as("declared index on %s leading with %s, found %s", table, expected, indexes)
+                .anyMatch(columns -> columns.size() >= expected.size()
+                        && columns.subList(0, expected.size()).equals(expected));
+    }
+
+    // Index name -> columns in key order, skipping the implicit per-foreign-key indexes H2 adds
+    private Map<String, List<String>> declaredIndexes(String table) throws SQLException {
+        Map<String, List<String>> indexes = new LinkedHashMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet rows = metaData.getIndexInfo(null, null, table, false, false)) {
+                while (rows.next()) {
+                    String name = rows.getString("INDEX_NAME");
+                    String column = rows.getString("COLUMN_NAME");
+                    if (name == null || column == null || name.startsWith("fk_")) {
+                        continue;
+                    }
+                    indexes.computeIfAbsent(name, key -> new ArrayList<>()).add(column.toLowerCase());
+                }
+            }
+        }
+        return indexes;
+    }
+
+    record RecordedQuery(String sql, List<Object> parameters) {
+    }
+
+    /**
+     * Wraps the DataSource so the queries a repository call prepares and runs are recorded along with the
+     * values bound to them, the way they reach the database.
+     */
+    @TestConfiguration(proxyBeanMethods = false)
+    static class QueryRecorder implements BeanPostProcessor {
+
+        private final List<RecordedQuery> queries = new CopyOnWriteArrayList<>();
+        private volatile boolean recording;
+
+        List<RecordedQuery> record(Runnable repositoryCall) {
+            queries.clear();
+            recording = true;
+            try {
+                repositoryCall.run();
+            } finally {
+                recording = false;
+            }
+            return List.copyOf(queries);
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            // AutoCloseable keeps the pool's shutdown with the bean
+            return proxy(new Class<?>[]{DataSource.class, AutoCloseable.class}, (proxy, method, args) -> {
+                if (method.getName().equals("close") && !(dataSource instanceof AutoCloseable)) {
+                    return null;
+                }
+                Object result = invoke(dataSource, method, args);
+                return result instanceof Connection connection ? connection(connection) : result;
+            });
+        }
+
+        private Connection connection(Connection connection) {
+            return proxy(new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+                if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                    return statement(statement, (String) args[0]);
+                }
+                return result;
+            });
+        }
+
+        private PreparedStatement statement(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return proxy(new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    parameters.put(index, name.equals("setNull") ? null : args[1]);
+                } else if (name.equals("clearParameters")) {
+                    parameters.clear();
+                } else if (name.equals("executeQuery") && recording) {
+                    queries.add(new RecordedQuery(sql, new ArrayList<>(parameters.values())));
+                }
+                return invoke(statement, method, args);
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<?>[] types, InvocationHandler handler) {
+            return (T) Proxy.newProxyInstance(QueryRecorder.class.getClassLoader(), types, handler);
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+}
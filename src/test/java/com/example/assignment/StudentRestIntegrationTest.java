@@ -1,19 +1,43 @@
 package com.example.assignment;
 
+import com.example.assignment.dto.AccountResponse;
+import com.example.assignment.dto.BulkItemResult;
+import com.example.assignment.dto.BulkResult;
+import com.example.assignment.dto.EnrollmentResult;
+import com.example.assignment.dto.RecordingStatus;
+import com.example.assignment.dto.SearchHit;
+import com.example.assignment.dto.TokenRequest;
+import com.example.assignment.dto.TokenResponse;
+import com.example.assignment.entity.Course;
+import com.example.assignment.entity.Department;
 import com.example.assignment.entity.Student;
+import com.example.assignment.entity.User;
+import com.example.assignment.repository.CourseRepository;
+import com.example.assignment.repository.DepartmentRepository;
 import com.example.assignment.repository.StudentRepository;
+import com.example.assignment.repository.UserRepository;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.TestPropertySource;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -28,7 +52,9 @@ import static org.assertj.core.api.Assertions.assertThat;
  * - Spring Security authentication
  * - REST controller endpoints
  * - Full request/response cycle
+ * - Metrics export (off by default in tests)
  */
+@AutoConfigureObservability(tracing = false)
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @TestPropertySource(locations = "classpath:application-test.properties")
 class StudentRestIntegrationTest {
@@ -36,12 +62,27 @@ class StudentRestIntegrationTest {
     @LocalServerPort
     private int port;
 
+    @LocalManagementPort
+    private int managementPort;
+
     @Autowired
     private TestRestTemplate restTemplate;
 
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
     private String baseUrl;
 
     @BeforeEach
@@ -120,6 +161,82 @@ class StudentRestIntegrationTest {
                 .containsExactlyInAnyOrder("S001", "S002");
     }
 
+    /**
+     * Test 2b: GET /api/students pages by id with a next cursor
+     */
+    @Test
+    void testGetAllStudents_WithLimit_ReturnsKeysetPages() {
+        // Arrange
+        for (int i = 1; i <= 3; i++) {
+            Student student = new Student();
+            student.setName("Student " + i);
+            student.setStudentId("P00" + i);
+            studentRepository.save(student);
+        }
+
+        // Act - first page
+        ResponseEntity<List<Student>> first = restTemplate
+                .withBasicAuth("student1", "pass123")
+                .exchange(baseUrl + "?limit=2", HttpMethod.GET, null,
+                        new ParameterizedTypeReference<List<Student>>() {});
+
+        // Assert
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(first.getBody()).extracting(Student::getStudentId).containsExactly("P001", "P002");
+        String next = first.getHeaders().getFirst("X-Next-Cursor");
+        assertThat(next).isEqualTo(String.valueOf(first.getBody().get(1).getId()));
+
+        // Act - second (last) page
+        ResponseEntity<List<Student>> second = restTemplate
+                .withBasicAuth("student1", "pass123")
+                .exchange(baseUrl + "?limit=2&after=" + next, HttpMethod.GET, null,
+                        new ParameterizedTypeReference<List<Student>>() {});
+
+        // Assert
+        assertThat(second.getBody()).extracting(Student::getStudentId).containsExactly("P003");
+        assertThat(second.getHeaders().containsKey("X-Next-Cursor")).isFalse();
+    }
+
+    /**
+     * Test 2c: GET /api/students/export streams CSV and NDJSON rows in id order
+     */
+    @Test
+    void testExportStudents_StreamsCsvAndNdjson() {
+        // Arrange
+        Student student1 = new Student();
+        student1.setName("Doe, John");
+        student1.setStudentId("E001");
+        Student saved1 = studentRepository.save(student1);
+
+        Student student2 = new Student();
+        student2.setName("Jane Smith");
+        student2.setStudentId("E002");
+        Student saved2 = studentRepository.save(student2);
+
+        // Act
+        ResponseEntity<String> csv = restTemplate
+                .withBasicAuth("student1", "pass123")
+                .getForEntity(baseUrl + "/export?format=csv", String.class);
+        ResponseEntity<String> ndjson = restTemplate
+                .withBasicAuth("student1", "pass123")
+                .getForEntity(baseUrl + "/export", String.class);
+        ResponseEntity<String> unsupported = restTemplate
+                .withBasicAuth("student1", "pass123")
+                .getForEntity(baseUrl + "/export?format=xml", String.class);
+
+        // Assert
+        assertThat(csv.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(csv.getBody()).isEqualTo(
+                "id,studentId,name,departmentId\r\n"
+                        + saved1.getId() + ",E001,\"Doe, John\",\r\n"
+                        + saved2.getId() + ",E002,Jane Smith,\r\n");
+        assertThat(ndjson.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(ndjson.getBody().split("\n")).containsExactly(
+                "{\"id\":" + saved1.getId() + ",\"studentId\":\"E001\",\"name\":\"Doe, John\",\"departmentId\":null}",
+                "{\"id\":" + saved2.getId() + ",\"studentId\":\"E002\",\"name\":\"Jane Smith\",\"departmentId\":null}");
+        assertThat(unsupported.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Test 3: GET /api/students/{id} returns 200 OK for existing student
      */
@@ -220,6 +337,410 @@ class StudentRestIntegrationTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
     }
 
+    /**
+     * Test 7b: POST /api/students/bulk reports per-item results and keeps valid rows
+     */
+    @Test
+    void testCreateStudentsInBulk_ReportsEachItem() {
+        // Arrange - an existing student whose studentId the bulk request will collide with
+        Student existing = new Student();
+        existing.setName("Existing");
+        existing.setStudentId("B000");
+        studentRepository.save(existing);
+
+        Student valid = new Student();
+        valid.setName("Valid Student");
+        valid.setStudentId("B001");
+        Student invalid = new Student();
+        invalid.setStudentId("B002");
+        Student duplicate = new Student();
+        duplicate.setName("Duplicate");
+        duplicate.setStudentId("B000");
+
+        // Act
+        ResponseEntity<BulkResult> response = restTemplate
+                .withBasicAuth("teacher1", "pass123")
+                .postForEntity(baseUrl + "/bulk", List.of(valid, invalid, duplicate), BulkResult.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.MULTI_STATUS);
+        BulkResult result = response.getBody();
+        assertThat(result.created()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(2);
+        assertThat(result.items())
+                .extracting(BulkItemResult::status)
+                .containsExactly(BulkItemResult.Status.CREATED, BulkItemResult.Status.INVALID, BulkItemResult.Status.FAILED);
+        assertThat(result.items().get(1).errors()).containsKey("name");
+        assertThat(studentRepository.findById(result.items().get(0).id())).isPresent();
+        assertThat(studentRepository.count()).isEqualTo(2);
+    }
+
+    /**
+     * Test 7c: POST /api/auth/token issues a bearer token accepted by the API without Basic auth
+     */
+    @Test
+    void testBearerToken_AuthenticatesApiCalls() {
+        // Act - exchange credentials for a token
+        ResponseEntity<TokenResponse> tokenResponse = restTemplate.postForEntity(
+                "http://localhost:" + port + "/api/auth/token",
+                new TokenRequest("teacher1", "pass123"), TokenResponse.class);
+
+        // Assert
+        assertThat(tokenResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(tokenResponse.getBody().tokenType()).isEqualTo("Bearer");
+
+        // Act - the token carries the TEACHER role, so a write is allowed
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(tokenResponse.getBody().accessToken());
+        Student newStudent = new Student();
+        newStudent.setName("Token Student");
+        newStudent.setStudentId("T100");
+        ResponseEntity<Student> created = restTemplate.exchange(
+                baseUrl, HttpMethod.POST, new HttpEntity<>(newStudent, headers), Student.class);
+
+        // Assert
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        // Act & Assert - a tampered token is rejected rather than falling back to anonymous
+        HttpHeaders tampered = new HttpHeaders();
+        tampered.setBearerAuth(tokenResponse.getBody().accessToken() + "x");
+        ResponseEntity<String> rejected = restTemplate.exchange(
+                baseUrl, HttpMethod.GET, new HttpEntity<>(tampered), String.class);
+        assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    /**
+     * Test 7d: GET /dashboard renders count tiles and only the first page of students
+     */
+    @Test
+    void testDashboard_RendersFirstPageAndLoadMore() {
+        // Arrange - one row more than a dashboard page
+        for (int i = 0; i <= 25; i++) {
+            Student student = new Student();
+            student.setName("Dashboard " + i);
+            student.setStudentId("D" + (100 + i));
+            studentRepository.save(student);
+        }
+
+        // Act
+        ResponseEntity<String> response = restTemplate
+                .withBasicAuth("teacher1", "pass123")
+                .getForEntity("http://localhost:" + port + "/dashboard", String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).contains("Dashboard 24").doesNotContain("Dashboard 25");
+        assertThat(response.getBody()).contains("<strong>26</strong>Students");
+        assertThat(response.getBody()).contains("/dashboard/students?after=");
+    }
+
+    /**
+     * Test 7e: GET /api/me returns the student record linked to the account, not one matched by name
+     */
+    @Test
+    void testMe_ReturnsLinkedStudent() {
+        // Arrange - a namesake that must not be picked up, and the linked record
+        Student namesake = new Student();
+        namesake.setName("student1");
+        namesake.setStudentId("N100");
+        studentRepository.save(namesake);
+        Student linked = new Student();
+        linked.setName("Linked Student");
+        linked.setStudentId("L100");
+        Student saved = studentRepository.save(linked);
+        userRepository.findByUsername("student1").ifPresent(user -> {
+            user.setStudent(saved);
+            userRepository.save(user);
+        });
+
+        // Act
+        ResponseEntity<AccountResponse> response = restTemplate
+                .withBasicAuth("student1", "pass123")
+                .getForEntity("http://localhost:" + port + "/api/me", AccountResponse.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().username()).isEqualTo("student1");
+        assertThat(response.getBody().roles()).containsExactly("ROLE_STUDENT");
+        assertThat(response.getBody().student().getStudentId()).isEqualTo("L100");
+        assertThat(response.getBody().teacher()).isNull();
+    }
+
+    /**
+     * Test 7f: enrollment endpoints write the join table; a missing course is 404
+     */
+    @Test
+    void testEnrollments_EnrollAndUnenroll() {
+        // Arrange
+        Student student = new Student();
+        student.setName("Enrolled Student");
+        student.setStudentId("E100");
+        Long studentId = studentRepository.save(student).getId();
+        Course course = new Course();
+        course.setTitle("Enrollment Course");
+        course.setCourseCode("EC" + System.nanoTime());
+        Long courseId = courseRepository.save(course).getId();
+        String enrollmentsUrl = "http://localhost:" + port + "/api/courses/" + courseId + "/enrollments";
+
+        // Act
+        ResponseEntity<EnrollmentResult> enrolled = restTemplate
+                .withBasicAuth("teacher1", "pass123")
+                .postForEntity(enrollmentsUrl, List.of(studentId, studentId, 999_999L), EnrollmentResult.class);
+
+        // Assert - duplicates collapse, unknown students are skipped
+        assertThat(enrolled.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(enrolled.getBody()).isEqualTo(new EnrollmentResult(courseId, 2, 1));
+
+        // Act & Assert - single unenroll
+        ResponseEntity<Void> removed = restTemplate
+                .withBasicAuth("teacher1", "pass123")
+                .exchange(enrollmentsUrl + "/" + studentId, HttpMethod.DELETE, null, Void.class);
+        assertThat(removed.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+        // Act & Assert - unknown course
+        ResponseEntity<String> missing = restTemplate
+                .withBasicAuth("teacher1", "pass123")
+                .postForEntity("http://localhost:" + port + "/api/courses/999999/enrollments",
+                        List.of(studentId), String.class);
+        assertThat(missing.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Test 7g: GET /api/search finds committed writes by name prefix and code, and forgets deletes
+     */
+    @Test
+    void testSearch_FollowsCommittedWrites() {
+        // Arrange
+        Student student = new Student();
+        student.setName("Zoë Quenneville");
+        student.setStudentId("QZ100");
+        Long studentId = studentRepository.save(student).getId();
+        String searchUrl = "http://localhost:" + port + "/api/search?q=";
+
+        // Act
+        ResponseEntity<SearchHit[]> byName = restTemplate
+                .withBasicAuth("teacher1", "pass123")
+                .getForEntity(searchUrl + "zoe quen", SearchHit[].class);
+        ResponseEntity<SearchHit[]> byCode = restTemplate
+                .withBasicAuth("teacher1", "pass123")
+                .getForEntity(searchUrl + "qz100&type=STUDENT", SearchHit[].class);
+
+        // Assert
+        assertThat(byName.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(byName.getBody()).extracting(SearchHit::id).containsExactly(studentId);
+        assertThat(byCode.getBody()).extracting(SearchHit::title).containsExactly("Zoë Quenneville");
+
+        // Act & Assert - deleted rows disappear, students may not search, one letter is too short
+        studentRepository.deleteById(studentId);
+        assertThat(restTemplate.withBasicAuth("teacher1", "pass123")
+                .getForEntity(searchUrl + "quenneville", SearchHit[].class).getBody()).isEmpty();
+        assertThat(restTemplate.withBasicAuth("student1", "pass123")
+                .getForEntity(searchUrl + "quenneville", String.class).getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(restTemplate.withBasicAuth("teacher1", "pass123")
+                .getForEntity(searchUrl + "q", String.class).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Test 7h: GET /api/students/query combines department, course, name prefix and studentId range filters
+     */
+    @Test
+    void testQueryStudents_CombinesFiltersWithKeysetPaging() {
+        // Arrange
+        Department department = new Department();
+        department.setName("Query Department " + System.nanoTime());
+        department = departmentRepository.save(department);
+        Course course = new Course();
+        course.setTitle("Query Course");
+        course.setCourseCode("QC" + System.nanoTime());
+        Long courseId = courseRepository.save(course).getId();
+        String[][] rows = {{"Ada One", "R001"}, {"Ada Two", "R002"}, {"Ada Three", "R003"},
+                {"Bob Four", "R004"}, {"Ada_Five", "R005"}};
+        Long[] ids = new Long[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            Student student = new Student();
+            student.setName(rows[i][0]);
+            student.setStudentId(rows[i][1]);
+            student.setDepartment(i < 4 ? department : null);
+            ids[i] = studentRepository.save(student).getId();
+        }
+        restTemplate.withBasicAuth("teacher1", "pass123").postForEntity(
+                "http://localhost:" + port + "/api/courses/" + courseId + "/enrollments",
+                List.of(ids[0], ids[2], ids[3], ids[4]), EnrollmentResult.class);
+        String queryUrl = baseUrl + "/query?departmentId=" + department.getId() + "&courseId=" + courseId
+                + "&namePrefix=Ada&studentIdFrom=R001&studentIdTo=R004&limit=1&count=true";
+
+        // Act
+        ResponseEntity<Student[]> first = restTemplate
+                .withBasicAuth("student1", "pass123")
+                .getForEntity(queryUrl, Student[].class);
+        ResponseEntity<Student[]> second = restTemplate
+                .withBasicAuth("student1", "pass123")
+                .getForEntity(queryUrl + "&after=" + first.getHeaders().getFirst("X-Next-Cursor"), Student[].class);
+
+        // Assert - R001 and R003 match every filter; R002 is not enrolled, R004 is Bob, R005 has no department
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(first.getHeaders().getFirst("X-Total-Count")).isEqualTo("2");
+        assertThat(first.getBody()).extracting(Student::getStudentId).containsExactly("R001");
+        assertThat(first.getBody()[0].getDepartment().getName()).isEqualTo(department.getName());
+        assertThat(second.getBody()).extracting(Student::getStudentId).containsExactly("R003");
+        assertThat(second.getHeaders().containsKey("X-Next-Cursor")).isFalse();
+
+        // Act & Assert - wildcards in the prefix are literal
+        ResponseEntity<Student[]> literal = restTemplate
+                .withBasicAuth("student1", "pass123")
+                .getForEntity(baseUrl + "/query?namePrefix=Ada_", Student[].class);
+        assertThat(literal.getBody()).extracting(Student::getStudentId).containsExactly("R005");
+    }
+
+    /**
+     * Test 7i: GET /api/students/{id} revalidates by version; PUT checks a sent version and 409s when stale
+     */
+    @Test
+    void testStudentVersion_DrivesETagAndOptimisticLocking() {
+        // Arrange
+        Student student = new Student();
+        student.setName("Versioned Student");
+        student.setStudentId("V100");
+        Student saved = studentRepository.save(student);
+        String studentUrl = baseUrl + "/" + saved.getId();
+        ResponseEntity<Student> first = restTemplate
+                .withBasicAuth("student1", "pass123")
+                .getForEntity(studentUrl, Student.class);
+        String etag = first.getHeaders().getETag();
+
+        // Act & Assert - unchanged entity is not sent again
+        HttpHeaders conditional = new HttpHeaders();
+        conditional.setIfNoneMatch(etag);
+        ResponseEntity<Student> notModified = restTemplate
+                .withBasicAuth("student1", "pass123")
+                .exchange(studentUrl, HttpMethod.GET, new HttpEntity<>(conditional), Student.class);
+        assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(first.getHeaders().getCacheControl()).isEqualTo("no-cache, private");
+
+        // Act & Assert - PUT without a version overwrites and moves the version, hence the tag
+        Student update = new Student();
+        update.setName("Renamed Student");
+        update.setStudentId("V100");
+        ResponseEntity<Student> updated = restTemplate
+                .withBasicAuth("teacher1", "pass123")
+                .exchange(studentUrl, HttpMethod.PUT, new HttpEntity<>(update), Student.class);
+        assertThat(updated.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(updated.getBody().getVersion()).isEqualTo(first.getBody().getVersion() + 1);
+        assertThat(restTemplate.withBasicAuth("student1", "pass123")
+                .exchange(studentUrl, HttpMethod.GET, new HttpEntity<>(conditional), Student.class)
+                .getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        // Act & Assert - PUT carrying the old version conflicts
+        update.setVersion(first.getBody().getVersion());
+        ResponseEntity<String> stale = restTemplate
+                .withBasicAuth("teacher1", "pass123")
+                .exchange(studentUrl, HttpMethod.PUT, new HttpEntity<>(update), String.class);
+        assertThat(stale.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Test 7j: /actuator/prometheus on the management port is scraped without a login and reports requests, SQL and the pool
+     */
+    @Test
+    void testPrometheusScrape_ReportsRequestLatencySqlAndPool() {
+        // Arrange - one request through the full stack
+        restTemplate.withBasicAuth("student1", "pass123").getForEntity(baseUrl + "/query?namePrefix=A", String.class);
+
+        // Act
+        ResponseEntity<String> scrape = restTemplate
+                .getForEntity("http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+
+        // Assert
+        assertThat(scrape.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(scrape.getBody())
+                .contains("http_server_requests_seconds_bucket{")
+                .contains("uri=\"/api/students/query\"")
+                .contains("quantile=\"0.99\"")
+                .contains("http_server_requests_sql_statements_count{")
+                .contains("app_service_seconds_count{class=\"com.example.assignment.service.StudentService\"")
+                .contains("hibernate_query_executions_total")
+                .contains("hibernate_second_level_cache_requests_total")
+                .contains("hikaricp_connections_pending")
+                .contains("hikaricp_connections_acquire_seconds_bucket")
+                .contains("cache_gets_total{cache=\"responses\"")
+                .contains("app_waitlist_promoted_total")
+                .contains("app_waitlist_pending ")
+                .contains("app_waitlist_lag_seconds_bucket");
+        assertThat(restTemplate.getForEntity("http://localhost:" + managementPort + "/actuator/metrics", String.class)
+                .getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    /**
+     * Test 7k: an admin records the custom JFR events of a request and downloads the .jfr
+     */
+    @Test
+    void testFlightRecording_CapturesRequestTransactionSqlAndPasswordEvents() throws Exception {
+        // Arrange
+        if (userRepository.findByUsername("admin1").isEmpty()) {
+            userRepository.save(new User("admin1", passwordEncoder.encode("pass123"), "ROLE_ADMIN"));
+        }
+        Student student = new Student();
+        student.setName("Recorded Student");
+        student.setStudentId("R100");
+        Long id = studentRepository.save(student).getId();
+        String recordingUrl = "http://localhost:" + port + "/api/admin/recording";
+
+        assertThat(restTemplate.withBasicAuth("teacher1", "pass123")
+                .postForEntity(recordingUrl, null, String.class).getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(restTemplate.withBasicAuth("admin1", "pass123")
+                .postForEntity(recordingUrl + "?maxSize=1TB", null, String.class).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+
+        // Act
+        ResponseEntity<RecordingStatus> started = restTemplate.withBasicAuth("admin1", "pass123")
+                .postForEntity(recordingUrl + "?maxAge=PT5M&maxSize=20MB", null, RecordingStatus.class);
+        ResponseEntity<byte[]> recording;
+        try {
+            assertThat(started.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            assertThat(started.getBody().maxAge()).isEqualTo(Duration.ofMinutes(5));
+            assertThat(restTemplate.withBasicAuth("admin1", "pass123")
+                    .postForEntity(recordingUrl, null, String.class).getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+            restTemplate.withBasicAuth("teacher1", "pass123").getForEntity(baseUrl + "/" + id, String.class);
+        } finally {
+            recording = restTemplate.withBasicAuth("admin1", "pass123")
+                    .exchange(recordingUrl, HttpMethod.DELETE, null, byte[].class);
+        }
+
+        // Assert
+        assertThat(recording.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Path file = Files.createTempFile("recording-", ".jfr");
+        try {
+            Files.write(file, recording.getBody());
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().startsWith("com.example.assignment."))
+                    .toList();
+            assertThat(events).anySatisfy(event -> {
+                assertThat(event.getEventType().getName()).isEqualTo("com.example.assignment.HttpRequest");
+                assertThat(event.getString("uri")).isEqualTo("/api/students/{id}");
+                assertThat(event.getInt("status")).isEqualTo(200);
+            });
+            assertThat(events).anySatisfy(event -> {
+                assertThat(event.getEventType().getName()).isEqualTo("com.example.assignment.PasswordCheck");
+                assertThat(event.getBoolean("matched")).isTrue();
+            });
+            assertThat(events).anySatisfy(event -> {
+                assertThat(event.getEventType().getName()).isEqualTo("com.example.assignment.Transaction");
+                assertThat(event.getString("className")).isEqualTo("StudentService");
+                assertThat(event.getString("method")).isEqualTo("findById");
+                assertThat(event.getString("propagation")).isEqualTo("REQUIRED");
+            });
+            assertThat(events).anySatisfy(event -> {
+                assertThat(event.getEventType().getName()).isEqualTo("com.example.assignment.SqlStatement");
+                assertThat(event.getString("sql")).contains("from students");
+                assertThat(event.getLong("rows")).isEqualTo(1);
+            });
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        assertThat(restTemplate.withBasicAuth("admin1", "pass123")
+                .getForEntity(recordingUrl, String.class).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
     /**
      * Test 8: Verify H2 database is being used (transaction rollback works)
      */
@@ -0,0 +1,187 @@
+package com.example.assignment;
+
+import com.example.assignment.dto.WaitlistStatistics;
+import com.example.assignment.entity.Course;
+import com.example.assignment.entity.Student;
+import com.example.assignment.entity.WaitlistEntry;
+import com.example.assignment.exception.CourseFullException;
+import com.example.assignment.repository.CourseRepository;
+import com.example.assignment.repository.StudentRepository;
+import com.example.assignment.repository.WaitlistRepository;
+import com.example.assignment.service.EnrollmentService;
+import com.example.assignment.service.WaitlistPromoter;
+import com.example.assignment.service.WaitlistService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies that freed seats go to the waitlist in order, asynchronously after the unenrollment commits,
+ * and that a course claimed by another promoter is skipped rather than waited for.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+class WaitlistIntegrationTest {
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private WaitlistPromoter waitlistPromoter;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        waitlistRepository.deleteAll();
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+    }
+
+    @Test
+    void unenroll_PromotesWaitlistInQueueOrder() throws Exception {
+        // Arrange - a full course of 2 and three students waiting
+        Long courseId = createCourse(2);
+        List<Long> students = createStudents(6);
+        enrollmentService.enroll(courseId, students.subList(0, 2));
+        assertThat(waitlistService.join(courseId, students.get(2)).position()).isEqualTo(1);
+        assertThat(waitlistService.join(courseId, students.get(3)).position()).isEqualTo(2);
+        assertThat(waitlistService.join(courseId, students.get(4)).position()).isEqualTo(3);
+        assertThat(waitlistService.join(courseId, students.get(3)).position()).isEqualTo(2);
+
+        // Act - a seat frees up
+        enrollmentService.unenroll(courseId, List.of(students.get(0)));
+
+        // Assert - the queue head gets it without the unenrollment waiting for that
+        awaitTrue(() -> isEnrolled(courseId, students.get(2)));
+        assertThat(waitlistService.getPosition(courseId, students.get(3)).position()).isEqualTo(1);
+        assertThat(seatCounter(courseId)).isEqualTo(2);
+
+        // Assert - nobody can take a seat past the queue, even once one is free
+        assertThatThrownBy(() -> enrollmentService.enrollSelf(courseId, students.get(5)))
+                .isInstanceOf(CourseFullException.class);
+        courseRepository.findById(courseId).ifPresent(course -> {
+            course.setCapacity(3);
+            courseRepository.save(course);
+        });
+        assertThatThrownBy(() -> enrollmentService.enrollSelf(courseId, students.get(5)))
+                .isInstanceOf(CourseFullException.class);
+
+        // Act & Assert - the raised capacity is picked up by the sweep
+        waitlistPromoter.sweep();
+        assertThat(isEnrolled(courseId, students.get(3))).isTrue();
+        assertThat(waitlistRepository.findPosition(courseId, students.get(4))).isEqualTo(1);
+        assertThat(seatCounter(courseId)).isEqualTo(3);
+
+        WaitlistStatistics statistics = waitlistService.getStatistics();
+        assertThat(statistics.pending()).isEqualTo(1);
+        assertThat(statistics.promoted()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void promote_SkipsCourseLockedByAnotherPromoter() throws Exception {
+        // Arrange - a free seat and one waiting student, queued without triggering a promotion
+        Long courseId = createCourse(1);
+        Long studentId = createStudents(1).get(0);
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setCourseId(courseId);
+        entry.setStudentId(studentId);
+        entry.setRequestedAt(Instant.now());
+        waitlistRepository.save(entry);
+
+        // Arrange - another instance holds the course row
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForList("select id from courses where id = ? for update", courseId);
+            locked.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // Act & Assert - skipped immediately instead of blocking on the lock
+        long skippedBefore = waitlistService.getStatistics().skippedLocked();
+        try {
+            assertThat(waitlistPromoter.promote(courseId)).isZero();
+        } finally {
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+        }
+        assertThat(waitlistService.getStatistics().skippedLocked()).isEqualTo(skippedBefore + 1);
+
+        // Act & Assert - promoted once the lock is gone
+        assertThat(waitlistPromoter.promote(courseId)).isEqualTo(1);
+        assertThat(isEnrolled(courseId, studentId)).isTrue();
+        assertThat(seatCounter(courseId)).isEqualTo(1);
+    }
+
+    private Long createCourse(int capacity) {
+        Course course = new Course();
+        course.setTitle("Waitlisted Course");
+        course.setCourseCode("WL" + System.nanoTime());
+        course.setCapacity(capacity);
+        return courseRepository.save(course).getId();
+    }
+
+    private List<Long> createStudents(int count) {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Student student = new Student();
+            student.setName("Waiting " + i);
+            student.setStudentId("WS" + i);
+            students.add(student);
+        }
+        return studentRepository.saveAll(students).stream().map(Student::getId).toList();
+    }
+
+    private boolean isEnrolled(Long courseId, Long studentId) {
+        return courseRepository.isEnrolled(courseId, studentId);
+    }
+
+    private int seatCounter(Long courseId) {
+        return jdbcTemplate.queryForObject("select enrolled_count from courses where id = ?", Integer.class, courseId);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 10s").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
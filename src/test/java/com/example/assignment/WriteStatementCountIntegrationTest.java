@@ -0,0 +1,309 @@
+package com.example.assignment;
+
+import com.example.assignment.dto.SearchHit;
+import com.example.assignment.dto.SearchType;
+import com.example.assignment.entity.Course;
+import com.example.assignment.entity.Department;
+import com.example.assignment.entity.Student;
+import com.example.assignment.entity.Teacher;
+import com.example.assignment.repository.CourseRepository;
+import com.example.assignment.repository.DepartmentRepository;
+import com.example.assignment.repository.StudentRepository;
+import com.example.assignment.repository.TeacherRepository;
+import com.example.assignment.service.SearchService;
+import com.example.assignment.service.WaitlistPromoter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies the number of SQL statements each PATCH and DELETE endpoint runs, counted across the whole
+ * request: they write without reading the row first and tell a missing row by the statement's row count.
+ * Shares its context with CourseQueryIntegrationTest, waitlist promoter mocked for the same reason.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+class WriteStatementCountIntegrationTest {
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @MockBean
+    private WaitlistPromoter waitlistPromoter;
+
+    private MockMvc mockMvc;
+
+    private Statistics statistics;
+
+    private Department department;
+
+    private Teacher teacher;
+
+    private Course course;
+
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+        teacherRepository.deleteAll();
+
+        department = new Department();
+        department.setName("WRITES " + System.nanoTime()); // departments are not cleared between tests
+        department = departmentRepository.save(department);
+
+        teacher = new Teacher();
+        teacher.setName("Writing Teacher");
+        teacher.setTeacherId("WT1");
+        teacher = teacherRepository.save(teacher);
+
+        course = new Course();
+        course.setTitle("Writing Course");
+        course.setCourseCode("WC1");
+        course.setTeacher(teacher);
+        course.setCapacity(10);
+        course = courseRepository.save(course);
+
+        student = new Student();
+        student.setName("Writing Student");
+        student.setStudentId("WS1");
+        student.setCourses(Set.of(course));
+        student = studentRepository.save(student);
+        jdbcTemplate.update("update courses set enrolled_count = 1 where id = ?", course.getId());
+
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).apply(springSecurity()).build();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void patch_OneStatementPerRequest() throws Exception {
+        // Act & Assert
+        assertStatements(patchJson("/api/students/" + student.getId(), "{\"name\":\"Renamed Student\"}"), 204, 1);
+        assertStatements(patchJson("/api/teachers/" + teacher.getId(), "{\"email\":\"w@example.com\"}"), 204, 1);
+        assertStatements(patchJson("/api/courses/" + course.getId(), "{\"capacity\":20}"), 204, 1);
+        String renamed = "renamed " + System.nanoTime();
+        assertStatements(patchJson("/api/departments/" + department.getId(), "{\"name\":\"" + renamed + "\"}"), 204, 1);
+        assertStatements(patchJson("/api/students/0", "{\"name\":\"Nobody\"}"), 404, 1);
+
+        // Assert - the other columns were left alone
+        assertThat(jdbcTemplate.queryForMap("select title, capacity, enrolled_count from courses where id = ?",
+                course.getId())).containsValues("Writing Course", 20, 1);
+        assertThat(studentRepository.findById(student.getId()).orElseThrow().getStudentId()).isEqualTo("WS1");
+        assertThat(departmentRepository.findById(department.getId()).orElseThrow().getName())
+                .isEqualTo(renamed.toUpperCase());
+    }
+
+    @Test
+    void patch_StaleVersionConflictsAndFreshVersionApplies() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform(get("/api/students/" + student.getId()).with(user("reader")))
+                .andReturn().getResponse().getHeader("ETag");
+        Long version = student.getVersion();
+
+        // Act & Assert - only the conflict costs a second statement, to tell it from a missing row
+        assertStatements(patchJson("/api/students/" + student.getId(),
+                "{\"name\":\"Versioned\",\"version\":" + version + "}"), 204, 1);
+        assertStatements(patchJson("/api/students/" + student.getId(),
+                "{\"name\":\"Stale\",\"version\":" + version + "}"), 409, 2);
+
+        // Assert - the resource's ETag and the search index follow the update
+        mockMvc.perform(get("/api/students/" + student.getId()).with(user("reader")).header("If-None-Match", etag))
+                .andExpect(status().isOk());
+        assertThat(searchService.search("versioned", SearchType.STUDENT, 5))
+                .extracting(SearchHit::id).containsExactly(student.getId());
+        assertThat(searchService.search("writing", SearchType.STUDENT, 5)).isEmpty();
+    }
+
+    @Test
+    void patch_WithoutFieldsIsRejectedBeforeAnyStatement() throws Exception {
+        assertStatements(patchJson("/api/courses/" + course.getId(), "{\"version\":0}"), 400, 0);
+        assertStatements(patchJson("/api/courses/" + course.getId(), "{\"title\":\" \"}"), 400, 0);
+    }
+
+    @Test
+    void deleteStudent_ReleasesSeatsAndEnrollmentsWithoutLoadingIt() throws Exception {
+        // Act & Assert - seat release, enrollment rows, student row
+        assertStatements(delete("/api/students/" + student.getId()).with(teacher()), 204, 3);
+        assertStatements(delete("/api/students/" + student.getId()).with(teacher()), 404, 3);
+
+        // Assert
+        assertThat(jdbcTemplate.queryForObject("select enrolled_count from courses where id = ?",
+                Integer.class, course.getId())).isZero();
+        assertThat(searchService.search("writing", SearchType.STUDENT, 5)).isEmpty();
+    }
+
+    @Test
+    void deleteCourse_UnenrollsAndDeletesWithoutLoadingIt() throws Exception {
+        // Act & Assert - enrollment rows, course row
+        assertStatements(delete("/api/courses/" + course.getId()).with(teacher()), 204, 2);
+        assertStatements(delete("/api/courses/" + course.getId()).with(teacher()), 404, 2);
+
+        // Assert
+        assertThat(studentRepository.existsById(student.getId())).isTrue();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from student_course_enrollment where student_id = ?",
+                Integer.class, student.getId())).isZero();
+    }
+
+    @Test
+    void deleteDepartment_StatementCountIndependentOfItsSize() throws Exception {
+        // Arrange - the department's own course, and a student of it enrolled in another department's course
+        Department small = createDepartmentWithMembers(1);
+        Department large = createDepartmentWithMembers(20);
+
+        // Act & Assert - students: id select, seat release, enrollment rows, rows; courses: id select, enrollment
+        // rows, rows; teachers: id select, rows; then the department row
+        assertThat(assertDeleted("/api/departments/" + small.getId(), 204)).isEqualTo(10);
+        assertThat(assertDeleted("/api/departments/" + large.getId(), 204)).isEqualTo(10);
+        assertDeleted("/api/departments/" + large.getId(), 404);
+
+        // Assert - only the other department's course and its enrolled student remain
+        assertThat(departmentRepository.existsById(large.getId())).isFalse();
+        assertThat(studentRepository.findAll()).extracting(Student::getId).containsExactly(student.getId());
+        assertThat(courseRepository.findAll()).extracting(Course::getId).containsExactly(course.getId());
+        assertThat(jdbcTemplate.queryForObject("select enrolled_count from courses where id = ?",
+                Integer.class, course.getId())).isEqualTo(1);
+        assertThat(searchService.search("member", SearchType.STUDENT, 5)).isEmpty();
+    }
+
+    @Test
+    void deleteDepartment_ChunkedCommitsBatchesAndReachesTheSameState() throws Exception {
+        // Arrange
+        Department large = createDepartmentWithMembers(5);
+
+        // Act & Assert
+        assertDeleted("/api/departments/" + large.getId() + "?chunkSize=0", 400);
+        assertDeleted("/api/departments/" + large.getId() + "?chunkSize=2", 204);
+
+        // Assert
+        assertThat(departmentRepository.existsById(large.getId())).isFalse();
+        assertThat(studentRepository.count()).isOne();
+        assertThat(teacherRepository.count()).isOne();
+        assertThat(jdbcTemplate.queryForObject("select enrolled_count from courses where id = ?",
+                Integer.class, course.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void deleteTeacher_TakesItsCoursesAndEnrollments() throws Exception {
+        // Act & Assert - course id select, enrollment rows, course rows, teacher row
+        assertThat(assertDeleted("/api/teachers/" + teacher.getId(), 204)).isEqualTo(4);
+        assertDeleted("/api/teachers/" + teacher.getId(), 404);
+
+        // Assert
+        assertThat(courseRepository.existsById(course.getId())).isFalse();
+        assertThat(studentRepository.existsById(student.getId())).isTrue();
+        assertThat(searchService.search("writing", SearchType.COURSE, 5)).isEmpty();
+    }
+
+    @Test
+    void patch_UniqueConflictIsRejected() throws Exception {
+        // Arrange
+        Department other = new Department();
+        other.setName("TAKEN " + System.nanoTime());
+        departmentRepository.save(other);
+
+        // Act & Assert
+        assertStatements(patchJson("/api/departments/" + department.getId(), "{\"name\":\"" + other.getName() + "\"}"),
+                409, 1);
+    }
+
+    // A department whose teacher gives one course; n students take it and the other department's course
+    private Department createDepartmentWithMembers(int n) {
+        Department created = new Department();
+        created.setName("MEMBERS " + System.nanoTime());
+        created = departmentRepository.save(created);
+
+        Teacher member = new Teacher();
+        member.setName("Member Teacher");
+        member.setTeacherId("MT" + created.getId());
+        member.setDepartment(created);
+        member = teacherRepository.save(member);
+
+        Course own = new Course();
+        own.setTitle("Member Course");
+        own.setCourseCode("MC" + created.getId());
+        own.setTeacher(member);
+        own = courseRepository.save(own);
+
+        for (int i = 0; i < n; i++) {
+            Student enrolled = new Student();
+            enrolled.setName("Member Student " + i);
+            enrolled.setStudentId("MS" + created.getId() + "." + i);
+            enrolled.setDepartment(created);
+            enrolled.setCourses(Set.of(own, course));
+            studentRepository.save(enrolled);
+        }
+        jdbcTemplate.update("update courses set enrolled_count = enrolled_count + ? where id in (?, ?)",
+                n, course.getId(), own.getId());
+        return created;
+    }
+
+    private long assertDeleted(String url, int expectedStatus) throws Exception {
+        statistics.clear();
+        mockMvc.perform(delete(url).with(teacher())).andExpect(status().is(expectedStatus));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private MockHttpServletRequestBuilder patchJson(String url, String json) {
+        return patch(url).with(teacher()).contentType(MediaType.APPLICATION_JSON).content(json);
+    }
+
+    private static RequestPostProcessor teacher() {
+        return user("writer").roles("TEACHER");
+    }
+
+    private void assertStatements(MockHttpServletRequestBuilder request, int expectedStatus, long expectedStatements)
+            throws Exception {
+        statistics.clear();
+        mockMvc.perform(request).andExpect(status().is(expectedStatus));
+        assertThat(statistics.getPrepareStatementCount())
+                .as("statements for %s", request.buildRequest(webApplicationContext.getServletContext())
+                        .getRequestURI())
+                .isEqualTo(expectedStatements);
+    }
+}
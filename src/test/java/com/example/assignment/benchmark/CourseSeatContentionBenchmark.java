@@ -0,0 +1,135 @@
+package com.example.assignment.benchmark;
+
+import com.example.assignment.entity.Course;
+import com.example.assignment.entity.Student;
+import com.example.assignment.exception.CourseFullException;
+import com.example.assignment.repository.CourseRepository;
+import com.example.assignment.repository.StudentRepository;
+import com.example.assignment.service.EnrollmentService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Registration-day contention: N threads enroll N different students into one course at the same instant.
+ * Reports throughput, latency percentiles and the oversell count (enrollments beyond capacity, which must be 0).
+ * Excluded from the normal build; run against the compose Postgres:
+ *
+ * <pre>
+ * docker compose up -d postgres
+ * mvn -Pbenchmark test -Dtest=CourseSeatContentionBenchmark -Dbenchmark.threads=1000 -Dbenchmark.capacity=100
+ * </pre>
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "app.security.password.strength=4",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=false",
+        "logging.level.root=WARN"
+})
+class CourseSeatContentionBenchmark {
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 1000);
+    private static final int CAPACITY = Integer.getInteger("benchmark.capacity", 100);
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void enrollIntoOneCourse() throws Exception {
+        String run = Long.toString(System.nanoTime(), 36);
+        Course course = new Course();
+        course.setTitle("Contended " + run);
+        course.setCourseCode("BENCH-" + run);
+        course.setCapacity(CAPACITY);
+        Long courseId = courseRepository.save(course).getId();
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Student student = new Student();
+            student.setName("Contender " + i);
+            student.setStudentId("BENCH-" + run + "-" + i);
+            students.add(student);
+        }
+        List<Long> studentIds = studentRepository.saveAll(students).stream().map(Student::getId).toList();
+
+        long[] latencies = new long[THREADS];
+        AtomicInteger enrolled = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            int index = i;
+            Thread thread = new Thread(() -> {
+                ready.countDown();
+                try {
+                    start.await();
+                    long began = System.nanoTime();
+                    try {
+                        enrollmentService.enroll(courseId, List.of(studentIds.get(index)));
+                        enrolled.incrementAndGet();
+                    } catch (CourseFullException ex) {
+                        rejected.incrementAndGet();
+                    } catch (RuntimeException ex) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[index] = System.nanoTime() - began;
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }, "contender-" + i);
+            thread.start();
+        }
+        ready.await();
+        long began = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsedMillis = Math.max(1, (System.nanoTime() - began) / 1_000_000);
+
+        int rows = jdbcTemplate.queryForObject(
+                "select count(*) from student_course_enrollment where course_id = ?", Integer.class, courseId);
+        int counter = jdbcTemplate.queryForObject(
+                "select enrolled_count from courses where id = ?", Integer.class, courseId);
+        int oversold = Math.max(0, rows - CAPACITY);
+        Arrays.sort(latencies);
+
+        System.out.printf("%n[benchmark] %d threads -> one course with %d seats%n", THREADS, CAPACITY);
+        System.out.printf("[benchmark] enrolled=%d rejected=%d errors=%d in %d ms -> %.0f req/s%n",
+                enrolled.get(), rejected.get(), errors.get(), elapsedMillis, THREADS * 1000.0 / elapsedMillis);
+        System.out.printf("[benchmark] latency ms  p50=%.1f  p99=%.1f  max=%.1f%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 1.0));
+        System.out.printf("[benchmark] join rows=%d counter=%d oversold=%d%n%n", rows, counter, oversold);
+
+        assertThat(oversold).isZero();
+        assertThat(counter).isEqualTo(rows);
+        assertThat(enrolled.get()).isEqualTo(rows);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.assignment.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the JMH microbenchmarks in {@code benchmark.jmh} and stores the results as JSON, one file per run, so
+ * two runs (say before and after a change) can be compared with any JMH JSON viewer:
+ *
+ * <pre>
+ * mvn -Pbenchmark clean test -Dtest=JmhBenchmark
+ * mvn -Pbenchmark clean test -Dtest=JmhBenchmark -Dbenchmark.jmh.include=JsonSerialization -Dbenchmark.jmh.result=before.json
+ * </pre>
+ *
+ * The profile adds JMH's annotation processor, which generates the harness; without it the benchmark classes
+ * compile but cannot run, hence the clean after a normal build. -Dbenchmark.jmh.include is a regex over
+ * benchmark names (default: all of them), results go to target/jmh/ unless -Dbenchmark.jmh.result names a
+ * file. -Dbenchmark.jmh.forks (default 1) and -Dbenchmark.jmh.iterations (default 5 warmup and 5
+ * measurement) trade accuracy for time.
+ */
+@Tag("benchmark")
+class JmhBenchmark {
+
+    private static final String PACKAGE = JmhBenchmark.class.getPackageName() + ".jmh.";
+
+    @Test
+    void runMicrobenchmarks() throws Exception {
+        int iterations = Integer.getInteger("benchmark.jmh.iterations", 5);
+        Path result = Path.of(System.getProperty("benchmark.jmh.result", "target/jmh/"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json"));
+        Files.createDirectories(result.toAbsolutePath().getParent());
+
+        Options options = new OptionsBuilder()
+                .include(PACKAGE + ".*" + System.getProperty("benchmark.jmh.include", ""))
+                .forks(Integer.getInteger("benchmark.jmh.forks", 1))
+                .warmupIterations(iterations)
+                .measurementIterations(iterations)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        assertThat(results).isNotEmpty();
+        System.out.println("JMH results written to " + result.toAbsolutePath());
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.assignment.benchmark;
+
+import com.example.assignment.dto.SearchType;
+import com.example.assignment.service.SearchDocument;
+import com.example.assignment.service.SearchIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Typeahead latency of the in-memory search index at production size, without Spring or a database:
+ *
+ * <pre>
+ * mvn -Pbenchmark test -Dtest=SearchIndexBenchmark
+ * </pre>
+ *
+ * Indexes -Dbenchmark.documents (default 500k) synthetic students, teachers and courses, then replays
+ * keystroke-style queries (growing name prefixes, optionally with a second word) and reports the latency
+ * distribution per query. The synthetic names are built from 26 syllables, so prefixes are far less
+ * selective than real names and multi-word queries are a worst case.
+ */
+@Tag("benchmark")
+class SearchIndexBenchmark {
+
+    private static final int DOCUMENTS = Integer.getInteger("benchmark.documents", 500_000);
+    private static final int QUERIES = Integer.getInteger("benchmark.queries", 200_000);
+
+    private static final String[] SYLLABLES = {"an", "ber", "cla", "dor", "el", "fin", "gra", "hal", "is", "jo",
+            "ka", "lin", "mar", "nor", "os", "pet", "qui", "ros", "sa", "tor", "ul", "ven", "wil", "xa", "yu", "zel"};
+
+    @Test
+    void typeaheadLatency() {
+        Random random = new Random(42);
+        String[] names = new String[DOCUMENTS];
+        SearchIndex index = new SearchIndex();
+
+        long buildStart = System.nanoTime();
+        for (int i = 0; i < DOCUMENTS; i++) {
+            names[i] = word(random) + " " + word(random);
+            if (i % 10 < 8) {
+                index.put(new SearchDocument(SearchType.STUDENT, (long) i, names[i], "ST" + i, List.of()));
+            } else if (i % 10 == 8) {
+                index.put(new SearchDocument(SearchType.TEACHER, (long) i, names[i], "T" + i,
+                        List.of(names[i].replace(' ', '.') + "@school.edu")));
+            } else {
+                index.put(new SearchDocument(SearchType.COURSE, (long) i, names[i], "C" + i, List.of()));
+            }
+        }
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+        System.gc();
+        long heapMb = (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()) / 1_000_000;
+
+        for (int i = 0; i < QUERIES / 10; i++) {
+            index.search(query(names, random), null, 10);
+        }
+        long[] latencies = new long[QUERIES];
+        long hits = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            String query = query(names, random);
+            long start = System.nanoTime();
+            hits += index.search(query, null, 10).size();
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("%n[benchmark] search index  documents=%d  built in %d ms  heap after build=%d MB%n",
+                index.size(), buildMillis, heapMb);
+        System.out.printf("[benchmark] %d queries, %.1f hits each%n", QUERIES, (double) hits / QUERIES);
+        System.out.printf("[benchmark] latency us  p50=%.1f  p99=%.1f  p99.9=%.1f  max=%.1f%n%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                latencies[QUERIES - 1] / 1000.0);
+        assertThat(percentile(latencies, 0.50)).isLessThan(1000);
+    }
+
+    private static String word(Random random) {
+        StringBuilder word = new StringBuilder();
+        int syllables = 2 + random.nextInt(2);
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+        return word.toString();
+    }
+
+    // What a user has typed so far: a prefix of the first word, sometimes followed by the start of the second
+    private static String query(String[] names, Random random) {
+        String name = names[random.nextInt(names.length)];
+        int space = name.indexOf(' ');
+        if (random.nextBoolean()) {
+            return name.substring(0, 2 + random.nextInt(space - 1));
+        }
+        return name.substring(0, space + 2 + random.nextInt(name.length() - space - 1));
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(p * sorted.length))] / 1000.0;
+    }
+}
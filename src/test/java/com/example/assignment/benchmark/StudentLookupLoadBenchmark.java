@@ -0,0 +1,140 @@
+package com.example.assignment.benchmark;
+
+import com.example.assignment.dto.TokenRequest;
+import com.example.assignment.dto.TokenResponse;
+import com.example.assignment.entity.Student;
+import com.example.assignment.repository.StudentRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load benchmark for GET /api/students/{id}: blocking JPA over JDBC, the case virtual threads target.
+ * Excluded from the normal build; run it once per mode against the compose Postgres and compare:
+ *
+ * <pre>
+ * docker compose up -d postgres
+ * mvn -Pbenchmark test -Dspring.threads.virtual.enabled=false
+ * mvn -Pbenchmark test -Dspring.threads.virtual.enabled=true -DargLine=-Djdk.tracePinnedThreads=short
+ * </pre>
+ *
+ * Virtual mode needs a Java 21 runtime; on older JDKs the switch is ignored and both runs use the
+ * platform-thread pool. Tune with -Dbenchmark.clients (default 2000) and -Dbenchmark.requests.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.security.password.strength=4",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=false",
+        "logging.level.root=WARN"
+})
+class StudentLookupLoadBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 2000);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 200_000);
+    private static final int WARMUP = Integer.getInteger("benchmark.warmup", 20_000);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Test
+    void getStudentById() throws Exception {
+        Student student = new Student();
+        student.setName("Benchmark Student");
+        student.setStudentId("BENCH-" + System.nanoTime());
+        Long id = studentRepository.save(student).getId();
+
+        // Bearer token so the run measures the lookup, not BCrypt
+        TokenResponse token = restTemplate.postForObject("http://localhost:" + port + "/api/auth/token",
+                new TokenRequest("student1", "pass123"), TokenResponse.class);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/students/" + id))
+                .header("Authorization", "Bearer " + token.accessToken())
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+        run(client, request, WARMUP);
+        Result result = run(client, request, REQUESTS);
+
+        System.out.printf("%n[benchmark] GET /api/students/{id}  java=%s  virtualThreads=%s  clients=%d%n",
+                Runtime.version().feature(), virtualThreads && Runtime.version().feature() >= 21, CLIENTS);
+        System.out.printf("[benchmark] %d requests in %d ms -> %.0f req/s, errors=%d%n",
+                REQUESTS, result.elapsedMillis(), REQUESTS * 1000.0 / result.elapsedMillis(), result.errors());
+        System.out.printf("[benchmark] latency ms  p50=%.1f  p99=%.1f  p99.9=%.1f  max=%.1f%n%n",
+                result.percentile(0.50), result.percentile(0.99), result.percentile(0.999), result.percentile(1.0));
+
+        assertThat(result.errors()).isLessThan(REQUESTS);
+    }
+
+    private Result run(HttpClient client, HttpRequest request, int total) throws InterruptedException {
+        long[] latencies = new long[total];
+        AtomicInteger next = new AtomicInteger();
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(CLIENTS);
+
+        long start = System.nanoTime();
+        for (int c = 0; c < CLIENTS; c++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int i = next.getAndIncrement(); i < total; i = next.getAndIncrement()) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception ex) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - sent;
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "bench-client-" + c);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+        return new Result(latencies, (System.nanoTime() - start) / 1_000_000, errors.get());
+    }
+
+    private record Result(long[] latencies, long elapsedMillis, long errors) {
+
+        Result {
+            Arrays.sort(latencies);
+        }
+
+        double percentile(double p) {
+            int index = (int) Math.min(latencies.length - 1, Math.ceil(p * latencies.length) - 1);
+            return latencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
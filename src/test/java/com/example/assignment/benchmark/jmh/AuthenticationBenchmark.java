@@ -0,0 +1,73 @@
+package com.example.assignment.benchmark.jmh;
+
+import com.example.assignment.entity.User;
+import com.example.assignment.repository.UserRepository;
+import com.example.assignment.service.CustomUserDetailsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A Basic-auth style login through {@link CustomUserDetailsService} and BCrypt, against H2, next to the user
+ * lookup alone, so the share of the hash is visible per cost. The application's own provider adds the user
+ * details cache and the bounded hashing pool on top; this measures the work those exist to contain.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AuthenticationBenchmark {
+
+    private static final String USERNAME = "benchmark-user";
+    private static final String PASSWORD = "benchmark-pass";
+
+    // 10 is the lowest cost the calibration picks in production
+    @Param({"10"})
+    public int strength;
+
+    private ConfigurableApplicationContext context;
+    private CustomUserDetailsService userDetailsService;
+    private DaoAuthenticationProvider authenticationProvider;
+
+    @Setup
+    public void setUp() {
+        context = EmbeddedApplication.start();
+        userDetailsService = context.getBean(CustomUserDetailsService.class);
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(strength);
+        context.getBean(UserRepository.class)
+                .save(new User(USERNAME, passwordEncoder.encode(PASSWORD), "ROLE_TEACHER"));
+
+        authenticationProvider = new DaoAuthenticationProvider();
+        authenticationProvider.setUserDetailsService(userDetailsService);
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDetails loadUser() {
+        return userDetailsService.loadUserByUsername(USERNAME);
+    }
+
+    @Benchmark
+    public Authentication authenticate() {
+        return authenticationProvider.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(USERNAME, PASSWORD));
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.assignment.benchmark.jmh;
+
+import com.example.assignment.dto.CursorPage;
+import com.example.assignment.entity.Department;
+import com.example.assignment.entity.Student;
+import com.example.assignment.repository.DepartmentRepository;
+import com.example.assignment.repository.StudentRepository;
+import com.example.assignment.service.AccountUserDetails;
+import com.example.assignment.service.DashboardService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DashboardService#getStudentsForUser} against H2 seeded with {@code students} rows: a teacher's first
+ * page, a teacher's page from the middle of the table, and a student's own record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DashboardServiceBenchmark {
+
+    @Param({"10000"})
+    public int students;
+
+    @Param({"50"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private DashboardService dashboardService;
+    private SecurityContext teacher;
+    private SecurityContext student;
+    private long middleId;
+
+    @Setup
+    public void setUp() {
+        context = EmbeddedApplication.start();
+        dashboardService = context.getBean(DashboardService.class);
+        StudentRepository studentRepository = context.getBean(StudentRepository.class);
+        Department department = new Department();
+        department.setName("Benchmark Department");
+        Department saved = context.getBean(DepartmentRepository.class).save(department);
+
+        TransactionTemplate transactionTemplate =
+                new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        List<Long> ids = new ArrayList<>();
+        for (int start = 0; start < students; start += 1000) {
+            int from = start;
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Student> batch = new ArrayList<>();
+                for (int i = from; i < Math.min(from + 1000, students); i++) {
+                    Student row = new Student();
+                    row.setName("Seeded Student " + i);
+                    row.setStudentId("BS" + i);
+                    row.setDepartment(saved);
+                    batch.add(row);
+                }
+                studentRepository.saveAll(batch).forEach(row -> ids.add(row.getId()));
+            });
+        }
+        middleId = ids.get(ids.size() / 2);
+
+        teacher = securityContext(new UsernamePasswordAuthenticationToken("teacher1", null,
+                AuthorityUtils.createAuthorityList("ROLE_TEACHER")));
+        AccountUserDetails account = new AccountUserDetails("student1", "", true,
+                AuthorityUtils.createAuthorityList("ROLE_STUDENT"), middleId, null);
+        student = securityContext(new UsernamePasswordAuthenticationToken(account, null, account.getAuthorities()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPage<Student> teacherFirstPage() {
+        SecurityContextHolder.setContext(teacher);
+        return dashboardService.getStudentsForUser(0, pageSize);
+    }
+
+    @Benchmark
+    public CursorPage<Student> teacherMiddlePage() {
+        SecurityContextHolder.setContext(teacher);
+        return dashboardService.getStudentsForUser(middleId, pageSize);
+    }
+
+    @Benchmark
+    public CursorPage<Student> studentOwnRecord() {
+        SecurityContextHolder.setContext(student);
+        return dashboardService.getStudentsForUser(0, pageSize);
+    }
+
+    private static SecurityContext securityContext(UsernamePasswordAuthenticationToken authentication) {
+        return new SecurityContextImpl(authentication);
+    }
+}
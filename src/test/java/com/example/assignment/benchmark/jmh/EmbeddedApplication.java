@@ -0,0 +1,37 @@
+package com.example.assignment.benchmark.jmh;
+
+import com.example.assignment.AssignmentApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * The application without a web server on a private in-memory H2, as the benchmarks' fixture. The settings
+ * follow application-test.properties minus SQL and security logging, which would dominate the timings; they
+ * are passed as arguments so that they win over application.yaml.
+ */
+final class EmbeddedApplication {
+
+    private EmbeddedApplication() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(AssignmentApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark-" + System.nanoTime()
+                                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=validate",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--app.security.password.strength=4",
+                        "--app.waitlist.sweep-interval=PT1H",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.assignment.benchmark.jmh;
+
+import com.example.assignment.exception.GlobalExceptionHandler;
+import com.example.assignment.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link GlobalExceptionHandler} building error responses, and the same responses written as JSON the way
+ * the message converter sends them: a 404, a validation failure with three field errors and the catch-all.
+ * The exceptions are created once, so stack trace capture is not part of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private ObjectMapper objectMapper;
+    private ResourceNotFoundException notFound;
+    private MethodArgumentNotValidException invalid;
+    private IllegalStateException unexpected;
+
+    @Setup
+    public void setUp() throws Exception {
+        handler = new GlobalExceptionHandler();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        notFound = new ResourceNotFoundException("Student not found with id: 42");
+        unexpected = new IllegalStateException("Something went wrong");
+
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(new Object(), "student");
+        errors.addError(new FieldError("student", "name", "Name is required"));
+        errors.addError(new FieldError("student", "studentId", "Student ID must be between 3 and 20 characters"));
+        errors.addError(new FieldError("student", "department", "must not be null"));
+        MethodParameter parameter = new MethodParameter(
+                ExceptionHandlerBenchmark.class.getDeclaredMethod("setUp"), -1);
+        invalid = new MethodArgumentNotValidException(parameter, errors);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> notFound() {
+        return handler.handleResourceNotFoundException(notFound);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> validationErrors() {
+        return handler.handleValidationExceptions(invalid);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> unexpectedError() {
+        return handler.handleGlobalException(unexpected);
+    }
+
+    @Benchmark
+    public byte[] notFoundAsJson() throws Exception {
+        return objectMapper.writeValueAsBytes(handler.handleResourceNotFoundException(notFound).getBody());
+    }
+
+    @Benchmark
+    public byte[] validationErrorsAsJson() throws Exception {
+        return objectMapper.writeValueAsBytes(handler.handleValidationExceptions(invalid).getBody());
+    }
+}
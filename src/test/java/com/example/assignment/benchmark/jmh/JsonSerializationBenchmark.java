@@ -0,0 +1,127 @@
+package com.example.assignment.benchmark.jmh;
+
+import com.example.assignment.entity.Course;
+import com.example.assignment.entity.Department;
+import com.example.assignment.entity.Student;
+import com.example.assignment.entity.Teacher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of one response page of each entity, built in memory the way the controllers return
+ * them: students with their department and enrolled courses, courses with their teacher and roster,
+ * and plain departments. The mapper is configured like Spring Boot's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonSerializationBenchmark {
+
+    // Entities per page; 50 is the default page size of the listing endpoints
+    @Param({"50"})
+    public int pageSize;
+
+    @Param({"5"})
+    public int coursesPerStudent;
+
+    @Param({"30"})
+    public int studentsPerCourse;
+
+    private ObjectMapper objectMapper;
+    private List<Student> students;
+    private List<Course> courses;
+    private List<Department> departments;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        departments = new ArrayList<>();
+        for (long i = 1; i <= pageSize; i++) {
+            Department department = new Department();
+            department.setId(i);
+            department.setVersion(0L);
+            department.setName("DEPARTMENT OF SUBJECT " + i);
+            departments.add(department);
+        }
+        students = new ArrayList<>();
+        courses = new ArrayList<>();
+        int studentCount = Math.max(pageSize, studentsPerCourse);
+        int courseCount = Math.max(pageSize, coursesPerStudent);
+        for (long i = 1; i <= studentCount; i++) {
+            students.add(student(i, departments.get((int) (i % departments.size()))));
+        }
+        for (long i = 1; i <= courseCount; i++) {
+            Course course = course(i, teacher(i, departments.get((int) (i % departments.size()))));
+            for (int s = 0; s < studentsPerCourse; s++) {
+                course.getStudents().add(students.get((int) ((i * 7 + s) % studentCount)));
+            }
+            courses.add(course);
+        }
+        for (int s = 0; s < studentCount; s++) {
+            for (int c = 0; c < coursesPerStudent; c++) {
+                students.get(s).getCourses().add(courses.get((s * 3 + c) % courseCount));
+            }
+        }
+        students = students.subList(0, pageSize);
+        courses = courses.subList(0, pageSize);
+    }
+
+    @Benchmark
+    public byte[] studentPage() throws Exception {
+        return objectMapper.writeValueAsBytes(students);
+    }
+
+    @Benchmark
+    public byte[] coursePage() throws Exception {
+        return objectMapper.writeValueAsBytes(courses);
+    }
+
+    @Benchmark
+    public byte[] departmentPage() throws Exception {
+        return objectMapper.writeValueAsBytes(departments);
+    }
+
+    private static Student student(long id, Department department) {
+        Student student = new Student();
+        student.setId(id);
+        student.setVersion(3L);
+        student.setName("Student Name " + id);
+        student.setStudentId("ST" + (100000 + id));
+        student.setDepartment(department);
+        return student;
+    }
+
+    private static Teacher teacher(long id, Department department) {
+        Teacher teacher = new Teacher();
+        teacher.setId(id);
+        teacher.setVersion(1L);
+        teacher.setName("Teacher Name " + id);
+        teacher.setEmail("teacher" + id + "@school.edu");
+        teacher.setTeacherId("T" + (1000 + id));
+        teacher.setDepartment(department);
+        return teacher;
+    }
+
+    private static Course course(long id, Teacher teacher) {
+        Course course = new Course();
+        course.setId(id);
+        course.setVersion(2L);
+        course.setTitle("Introduction to Topic " + id);
+        course.setCourseCode("C" + (5000 + id));
+        course.setCapacity(40);
+        course.setTeacher(teacher);
+        return course;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.assignment.config;
+
+import com.example.assignment.exception.PasswordHashingOverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final PasswordHashingConfig config = new PasswordHashingConfig();
+
+    private ExecutorService hashingExecutor;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        // One hashing thread and no queue: a second concurrent check has nowhere to wait
+        hashingExecutor = config.passwordHashingExecutor(1, 0);
+        callers = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashingExecutor.shutdownNow();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void matches_WhenPoolSaturated_FailsFast() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.matches(rawPassword, encodedPassword);
+            }
+        };
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, hashingExecutor, Duration.ofSeconds(5));
+        String hash = new BCryptPasswordEncoder(4).encode("pass123");
+
+        Future<Boolean> first = callers.submit(() -> encoder.matches("pass123", hash));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(PasswordHashingOverloadedException.class, () -> encoder.matches("pass123", hash));
+
+        release.countDown();
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void upgradeEncoding_RehashesLegacyAndDifferentCostHashes() {
+        PasswordEncoder encoder = config.passwordEncoder(hashingExecutor, 5, Duration.ofMillis(100), 10, 14,
+                Duration.ofSeconds(5));
+        String current = encoder.encode("pass123");
+        String legacy = new BCryptPasswordEncoder(5).encode("pass123");
+        String weaker = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("pass123");
+        String stronger = "{bcrypt}" + new BCryptPasswordEncoder(6).encode("pass123");
+
+        assertTrue(current.startsWith("{bcrypt}$2a$05$"));
+        assertFalse(encoder.upgradeEncoding(current));
+        assertTrue(encoder.matches("pass123", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+        assertTrue(encoder.upgradeEncoding(weaker));
+        assertTrue(encoder.upgradeEncoding(stronger));
+    }
+
+    @Test
+    void calibrate_StaysWithinBounds() {
+        assertEquals(4, PasswordHashingConfig.calibrate(Duration.ZERO, 4, 6));
+        assertEquals(6, PasswordHashingConfig.calibrate(Duration.ofHours(1), 4, 6));
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.assignment.config;
+
+import com.example.assignment.exception.PasswordHashingOverloadedException;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.authentication.www.BasicAuthenticationEntryPoint;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingOverloadFilterTest {
+
+    // Every hash is refused, as by a saturated BoundedPasswordEncoder
+    private static final PasswordEncoder OVERLOADED = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "{bcrypt}unused";
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            throw new PasswordHashingOverloadedException("Too many concurrent password checks, retry shortly");
+        }
+    };
+
+    /**
+     * Test 1: a known and an unknown user both get 503 while the hashing queue is full
+     */
+    @Test
+    void basicAuth_UnderOverload_Returns503ForKnownAndUnknownUsers() throws Exception {
+        // Arrange
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setPasswordEncoder(OVERLOADED);
+        provider.setUserDetailsService(username -> {
+            if (username.equals("alice")) {
+                return User.withUsername("alice").password("{bcrypt}hash").roles("STUDENT").build();
+            }
+            throw new UsernameNotFoundException("User not found: " + username);
+        });
+        Filter basic = basicAuth(new ProviderManager(provider));
+
+        // Act
+        MockHttpServletResponse known = run(basicRequest("alice"), basic);
+        MockHttpServletResponse unknown = run(basicRequest("mallory"), basic);
+
+        // Assert
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, known.getStatus());
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, unknown.getStatus());
+        assertEquals("1", unknown.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    /**
+     * Test 2: an overload wrapped into an authentication failure is a 503 too, not a 401
+     */
+    @Test
+    void basicAuth_UnknownUserWithWrappedOverload_Returns503() throws Exception {
+        // Arrange
+        AuthenticationManager manager = authentication -> {
+            throw new InternalAuthenticationServiceException("Password check failed",
+                    new PasswordHashingOverloadedException("Password check timed out in the hashing queue"));
+        };
+
+        // Act
+        MockHttpServletResponse response = run(basicRequest("mallory"), basicAuth(manager));
+
+        // Assert
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertNull(response.getHeader(HttpHeaders.WWW_AUTHENTICATE));
+    }
+
+    /**
+     * Test 3: form login answers 503 for a wrapped overload and still redirects on a wrong password
+     */
+    @Test
+    void formLogin_WrappedOverload_Returns503InsteadOfRedirect() throws Exception {
+        // Arrange
+        AuthenticationManager manager = authentication -> {
+            if (authentication.getName().equals("mallory")) {
+                throw new InternalAuthenticationServiceException("Password check failed",
+                        new PasswordHashingOverloadedException("Too many concurrent password checks, retry shortly"));
+            }
+            throw new UsernameNotFoundException("User not found: " + authentication.getName());
+        };
+        UsernamePasswordAuthenticationFilter form = new UsernamePasswordAuthenticationFilter(manager);
+        form.setAuthenticationFailureHandler(PasswordHashingOverloadFilter.failureHandler(
+                new SimpleUrlAuthenticationFailureHandler("/login?error")));
+
+        // Act
+        MockHttpServletResponse overloaded = run(formRequest("mallory"), form);
+        MockHttpServletResponse rejected = run(formRequest("bob"), form);
+
+        // Assert
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, overloaded.getStatus());
+        assertEquals("/login?error", rejected.getRedirectedUrl());
+    }
+
+    private static Filter basicAuth(AuthenticationManager manager) {
+        BasicAuthenticationEntryPoint entryPoint = new BasicAuthenticationEntryPoint();
+        entryPoint.setRealmName("Realm");
+        return new BasicAuthenticationFilter(manager, PasswordHashingOverloadFilter.entryPoint(entryPoint));
+    }
+
+    private static MockHttpServletRequest basicRequest(String username) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/students");
+        String credentials = username + ":pass123";
+        request.addHeader(HttpHeaders.AUTHORIZATION,
+                "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+        return request;
+    }
+
+    private static MockHttpServletRequest formRequest(String username) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        request.setServletPath("/login");
+        request.addParameter("username", username);
+        request.addParameter("password", "pass123");
+        return request;
+    }
+
+    private static MockHttpServletResponse run(MockHttpServletRequest request, Filter authentication)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new MockFilterChain(new HttpServlet() {}, new PasswordHashingOverloadFilter(), authentication)
+                .doFilter(request, response);
+        return response;
+    }
+}
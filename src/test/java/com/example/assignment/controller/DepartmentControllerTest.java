@@ -1,21 +1,36 @@
 package com.example.assignment.controller;
 
+import com.example.assignment.dto.CursorPage;
+import com.example.assignment.dto.DepartmentOverview;
 import com.example.assignment.entity.Department;
+import com.example.assignment.entity.Student;
+import com.example.assignment.service.ChangeTracker;
+import com.example.assignment.service.InMemoryTableVersions;
 import com.example.assignment.service.DepartmentService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
 
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -28,6 +43,13 @@ class DepartmentControllerTest {
     @Mock
     private DepartmentService departmentService;
 
+    @Spy
+    private ChangeTracker changeTracker = InMemoryTableVersions.tracker();
+
+    @Spy
+    private ResponseCache responseCache = new ResponseCache(changeTracker, Jackson2ObjectMapperBuilder.json().build(),
+            DataSize.ofMegabytes(1), DataSize.ofBytes(64), Duration.ofMinutes(5));
+
     @InjectMocks
     private DepartmentController departmentController;
 
@@ -45,14 +67,129 @@ class DepartmentControllerTest {
     @Test
     void getAllDepartments() throws Exception {
 
-        when(departmentService.getAllDepartments())
-                .thenReturn(Arrays.asList(department));
+        when(departmentService.findDepartmentOverviewsAfter(0L, 50))
+                .thenReturn(new CursorPage<>(Arrays.asList(new DepartmentOverview(1L, "Computer Science", 3, 2, 4)), null));
+
+        mockMvc.perform(get("/api/departments"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Computer Science"))
+                .andExpect(jsonPath("$[0].studentCount").value(3))
+                .andExpect(jsonPath("$[0].teacherCount").value(2))
+                .andExpect(jsonPath("$[0].courseCount").value(4));
+
+        verify(departmentService, times(1)).findDepartmentOverviewsAfter(0L, 50);
+    }
+
+    @Test
+    void getAllDepartments_NotModified() throws Exception {
+
+        when(departmentService.findDepartmentOverviewsAfter(0L, 50))
+                .thenReturn(new CursorPage<>(Arrays.asList(new DepartmentOverview(1L, "Computer Science", 3, 2, 4)), null));
+
+        String etag = mockMvc.perform(get("/api/departments"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Same tag: answered without running the query
+        mockMvc.perform(get("/api/departments").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+        verify(departmentService, times(1)).findDepartmentOverviewsAfter(0L, 50);
+
+        // A student write moves the member counts, so the tag changes
+        changeTracker.changed(ChangeTracker.Table.STUDENTS);
+        mockMvc.perform(get("/api/departments").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].studentCount").value(3));
+        verify(departmentService, times(2)).findDepartmentOverviewsAfter(0L, 50);
+    }
+
+    @Test
+    void getAllDepartments_ServedFromResponseCache() throws Exception {
+
+        when(departmentService.findDepartmentOverviewsAfter(0L, 50))
+                .thenReturn(new CursorPage<>(Arrays.asList(new DepartmentOverview(1L, "Computer Science", 3, 2, 4)), null));
 
         mockMvc.perform(get("/api/departments"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].name").value("Computer Science"));
+                .andExpect(header().string("X-Response-Cache", "miss"));
+
+        // Repeat without a validator: the stored bytes, no query; gzip for clients that accept it
+        mockMvc.perform(get("/api/departments"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Response-Cache", "hit"))
+                .andExpect(jsonPath("$[0].courseCount").value(4));
+        mockMvc.perform(get("http://api.internal:8080/api/departments"))
+                .andExpect(header().string("X-Response-Cache", "hit"));
+        byte[] compressed = mockMvc.perform(get("/api/departments").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("ETag", endsWith("-gz\"")))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(new String(in.readAllBytes())).contains("Computer Science");
+        }
+        verify(departmentService, times(1)).findDepartmentOverviewsAfter(0L, 50);
+
+        // A department write evicts the page
+        changeTracker.changed(ChangeTracker.Table.DEPARTMENTS);
+        mockMvc.perform(get("/api/departments"))
+                .andExpect(header().string("X-Response-Cache", "miss"));
+        verify(departmentService, times(2)).findDepartmentOverviewsAfter(0L, 50);
+    }
+
+    @Test
+    void getAllDepartments_SmallBodyKeepsPlainTagForGzipClients() throws Exception {
+
+        // An empty page stays below gzip-min-size, so it is sent uncompressed under the plain tag
+        when(departmentService.findDepartmentOverviewsAfter(0L, 50)).thenReturn(new CursorPage<>(List.of(), null));
+
+        String etag = mockMvc.perform(get("/api/departments").header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(header().string("ETag", not(endsWith("-gz\""))))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/api/departments").header("Accept-Encoding", "gzip"))
+                .andExpect(header().string("X-Response-Cache", "hit"))
+                .andExpect(header().string("ETag", etag));
+        mockMvc.perform(get("/api/departments").header("Accept-Encoding", "gzip").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getDepartmentById_TaggedByVersion() throws Exception {
+
+        department.setVersion(4L);
+        when(departmentService.findById(1L)).thenReturn(Optional.of(department));
+
+        mockMvc.perform(get("/api/departments/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"v4\""))
+                .andExpect(jsonPath("$.version").value(4));
+
+        mockMvc.perform(get("/api/departments/1").header("If-None-Match", "\"v4\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getDepartmentStudents() throws Exception {
+
+        Student student = new Student();
+        student.setId(7L);
+        student.setName("John Doe");
+        student.setStudentId("ST1001");
+
+        when(departmentService.findStudentsAfter(1L, 5L, 1))
+                .thenReturn(new CursorPage<>(Arrays.asList(student), 7L));
+
+        mockMvc.perform(get("/api/departments/1/students?after=5&limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "7"))
+                .andExpect(jsonPath("$[0].studentId").value("ST1001"));
 
-        verify(departmentService, times(1)).getAllDepartments();
+        verify(departmentService, times(1)).findStudentsAfter(1L, 5L, 1);
     }
 
     @Test
@@ -1,12 +1,18 @@
 package com.example.assignment.controller;
 
+import com.example.assignment.dto.CursorPage;
+import com.example.assignment.dto.StudentFilter;
+import com.example.assignment.dto.StudentPatch;
 import com.example.assignment.entity.Student;
+import com.example.assignment.service.ChangeTracker;
+import com.example.assignment.service.InMemoryTableVersions;
 import com.example.assignment.service.StudentService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -27,6 +33,9 @@ class StudentControllerTest {
     @Mock
     private StudentService studentService;
 
+    @Spy
+    private ChangeTracker changeTracker = InMemoryTableVersions.tracker();
+
     @InjectMocks
     private StudentController studentController;
 
@@ -46,14 +55,49 @@ class StudentControllerTest {
     @Test
     void getAllStudents() throws Exception {
 
-        when(studentService.findAllStudents())
-                .thenReturn(Arrays.asList(student));
+        when(studentService.findStudentsAfter(0L, 50))
+                .thenReturn(new CursorPage<>(Arrays.asList(student), null));
 
         mockMvc.perform(get("/api/students"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].name").value("John Doe"));
 
-        verify(studentService, times(1)).findAllStudents();
+        verify(studentService, times(1)).findStudentsAfter(0L, 50);
+    }
+
+    // ✅ Test GET students page exposes next cursor
+    @Test
+    void getAllStudents_WithNextPage() throws Exception {
+
+        when(studentService.findStudentsAfter(0L, 1))
+                .thenReturn(new CursorPage<>(Arrays.asList(student), 1L));
+
+        mockMvc.perform(get("/api/students?limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "1"))
+                .andExpect(header().string("Link", "<http://localhost/api/students?limit=1&after=1>; rel=\"next\""))
+                .andExpect(jsonPath("$[0].name").value("John Doe"));
+    }
+
+    // ✅ Test GET filtered query binds the filter and reports the total only when asked
+    @Test
+    void queryStudents_WithCount() throws Exception {
+
+        StudentFilter filter = new StudentFilter(3L, null, "Jo", "ST1000", null);
+        when(studentService.queryStudents(filter, 0L, 50))
+                .thenReturn(new CursorPage<>(Arrays.asList(student), null));
+        when(studentService.countStudents(filter)).thenReturn(1L);
+
+        mockMvc.perform(get("/api/students/query?departmentId=3&namePrefix=Jo&studentIdFrom=ST1000&count=true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "1"))
+                .andExpect(jsonPath("$[0].studentId").value("ST1001"));
+
+        mockMvc.perform(get("/api/students/query?departmentId=3&namePrefix=Jo&studentIdFrom=ST1000"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Total-Count"));
+
+        verify(studentService, times(1)).countStudents(filter);
     }
 
     // ✅ Test GET student by id
@@ -87,14 +131,33 @@ class StudentControllerTest {
     @Test
     void deleteStudent() throws Exception {
 
-        when(studentService.findById(1L))
-                .thenReturn(Optional.of(student));
-
-        doNothing().when(studentService).removeStudent(1L);
+        when(studentService.removeStudent(1L)).thenReturn(true);
+        when(studentService.removeStudent(99L)).thenReturn(false);
 
         mockMvc.perform(delete("/api/students/1"))
                 .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/students/99"))
+                .andExpect(status().isNotFound());
+
+        verify(studentService, never()).findById(anyLong());
+    }
+
+    // ✅ Test Patch sends only the given fields and rejects an empty or blank body
+    @Test
+    void patchStudent() throws Exception {
+
+        when(studentService.patchStudent(1L, new StudentPatch("Jane Doe", null, null))).thenReturn(true);
+
+        mockMvc.perform(patch("/api/students/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Jane Doe\"}"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(patch("/api/students/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"  \"}"))
+                .andExpect(status().isBadRequest());
 
-        verify(studentService, times(1)).removeStudent(1L);
+        verify(studentService, times(1)).patchStudent(anyLong(), any());
     }
 }
\ No newline at end of file
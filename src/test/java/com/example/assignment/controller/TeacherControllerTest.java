@@ -1,12 +1,16 @@
 package com.example.assignment.controller;
 
+import com.example.assignment.dto.CursorPage;
 import com.example.assignment.entity.Teacher;
+import com.example.assignment.service.ChangeTracker;
+import com.example.assignment.service.InMemoryTableVersions;
 import com.example.assignment.service.TeacherService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -26,6 +30,9 @@ class TeacherControllerTest {
     @Mock
     private TeacherService teacherService;
 
+    @Spy
+    private ChangeTracker changeTracker = InMemoryTableVersions.tracker();
+
     @InjectMocks
     private TeacherController teacherController;
 
@@ -48,14 +55,14 @@ class TeacherControllerTest {
     @Test
     void getAllTeachers() throws Exception {
 
-        when(teacherService.findAllTeachers())
-                .thenReturn(Arrays.asList(teacher));
+        when(teacherService.findTeachersAfter(0L, 50))
+                .thenReturn(new CursorPage<>(Arrays.asList(teacher), null));
 
         mockMvc.perform(get("/api/teachers"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].name").value("Mr. Smith"));
 
-        verify(teacherService, times(1)).findAllTeachers();
+        verify(teacherService, times(1)).findTeachersAfter(0L, 50);
     }
 
     // ✅ Test Get Teacher By ID
@@ -89,14 +96,14 @@ class TeacherControllerTest {
     @Test
     void deleteTeacher() throws Exception {
 
-        when(teacherService.findById(1L))
-                .thenReturn(Optional.of(teacher));
-
-        doNothing().when(teacherService).deleteTeacher(1L);
+        when(teacherService.deleteTeacher(1L, null)).thenReturn(true);
+        when(teacherService.deleteTeacher(2L, 10)).thenReturn(false);
 
         mockMvc.perform(delete("/api/teachers/1"))
                 .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/teachers/2?chunkSize=10"))
+                .andExpect(status().isNotFound());
 
-        verify(teacherService, times(1)).deleteTeacher(1L);
+        verify(teacherService, never()).findById(anyLong());
     }
 }
\ No newline at end of file
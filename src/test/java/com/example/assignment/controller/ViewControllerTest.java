@@ -0,0 +1,84 @@
+package com.example.assignment.controller;
+
+import com.example.assignment.dto.CourseSummary;
+import com.example.assignment.dto.CursorPage;
+import com.example.assignment.dto.DashboardSummary;
+import com.example.assignment.dto.DepartmentEnrollment;
+import com.example.assignment.entity.Student;
+import com.example.assignment.service.DashboardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class ViewControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private DashboardService dashboardService;
+
+    @InjectMocks
+    private ViewController viewController;
+
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(viewController).build();
+
+        student = new Student();
+        student.setId(1L);
+        student.setName("John Doe");
+        student.setStudentId("ST1001");
+    }
+
+    // ✅ Test dashboard renders first pages and aggregate tiles
+    @Test
+    void showDashboard() throws Exception {
+        DashboardSummary summary = new DashboardSummary(1, 1, 1,
+                List.of(new DepartmentEnrollment(1L, "Computer Science", 1)));
+        CourseSummary course = new CourseSummary(7L, "CS101", "Intro", "Dr. Smith", 1);
+
+        when(dashboardService.getSummary()).thenReturn(summary);
+        when(dashboardService.getStudentsForUser(0L, ViewController.PAGE_SIZE))
+                .thenReturn(new CursorPage<>(Arrays.asList(student), 1L));
+        when(dashboardService.getCourses(0L, ViewController.PAGE_SIZE))
+                .thenReturn(new CursorPage<>(Arrays.asList(course), null));
+
+        mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("dashboard"))
+                .andExpect(model().attribute("summary", summary))
+                .andExpect(model().attribute("students", Arrays.asList(student)))
+                .andExpect(model().attribute("studentsNext", 1L))
+                .andExpect(model().attribute("courses", Arrays.asList(course)));
+    }
+
+    // ✅ Test further student pages come back as a fragment
+    @Test
+    void studentRows() throws Exception {
+
+        when(dashboardService.getStudentsForUser(1L, ViewController.PAGE_SIZE))
+                .thenReturn(new CursorPage<>(Arrays.asList(student), null));
+
+        mockMvc.perform(get("/dashboard/students?after=1"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("dashboard :: studentRows"))
+                .andExpect(model().attribute("students", Arrays.asList(student)));
+
+        verify(dashboardService, never()).getSummary();
+    }
+}
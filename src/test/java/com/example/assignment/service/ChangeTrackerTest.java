@@ -0,0 +1,138 @@
+package com.example.assignment.service;
+
+import com.example.assignment.service.ChangeTracker.Table;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeTrackerTest {
+
+    @Mock
+    private TableVersions tableVersions;
+
+    @Test
+    void tag_FollowsWritesOfOtherInstances() {
+        // Arrange - re-read on every tag
+        ChangeTracker tracker = new ChangeTracker(tableVersions, Runnable::run, Duration.ZERO);
+        List<Table> changed = new ArrayList<>();
+        tracker.onChange(changed::add);
+        when(tableVersions.readAll()).thenReturn(Map.of(Table.COURSES, 10L, Table.STUDENTS, 20L));
+        String before = tracker.tag(Table.COURSES, Table.STUDENTS);
+
+        // Act - another instance wrote a course
+        when(tableVersions.readAll()).thenReturn(Map.of(Table.COURSES, 11L, Table.STUDENTS, 20L));
+        String after = tracker.tag(Table.COURSES, Table.STUDENTS);
+
+        // Assert
+        assertEquals("t.10.20", before);
+        assertEquals("t.11.20", after);
+        assertEquals(List.of(Table.COURSES), changed);
+    }
+
+    @Test
+    void tag_StaysWithinMaxStalenessButSeesLocalWritesAtOnce() {
+        // Arrange
+        ChangeTracker tracker = new ChangeTracker(tableVersions, Runnable::run, Duration.ofHours(1));
+        when(tableVersions.readAll()).thenReturn(Map.of(Table.COURSES, 10L));
+        String first = tracker.tag(Table.COURSES);
+
+        // Act & Assert - a remote write is not read again until max-staleness has passed
+        assertEquals(first, tracker.tag(Table.COURSES));
+        verify(tableVersions, times(1)).readAll();
+
+        // Act & Assert - a local write takes the version its own bump returned
+        when(tableVersions.bump(EnumSet.of(Table.COURSES))).thenReturn(Map.of(Table.COURSES, 12L));
+        tracker.changed(Table.COURSES);
+        assertEquals("t.12", tracker.tag(Table.COURSES));
+    }
+
+    @Test
+    void tag_MovesLocallyUntilAFailedPublishIsRetried() {
+        // Arrange
+        ChangeTracker tracker = new ChangeTracker(tableVersions, Runnable::run, Duration.ofHours(1));
+        when(tableVersions.readAll()).thenReturn(Map.of(Table.COURSES, 10L));
+        String before = tracker.tag(Table.COURSES);
+        when(tableVersions.bump(EnumSet.of(Table.COURSES)))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(Map.of(Table.COURSES, 11L));
+
+        // Act & Assert - the committed write is not failed, and this instance's tag still moves
+        tracker.changed(Table.COURSES);
+        assertNotEquals(before, tracker.tag(Table.COURSES));
+
+        // Act & Assert - the next publish covers both writes
+        tracker.changed(Table.COURSES);
+        assertEquals("t.11", tracker.tag(Table.COURSES));
+        verify(tableVersions, times(2)).bump(EnumSet.of(Table.COURSES));
+    }
+
+    @Test
+    void changedAfterCommit_ReportsEachTableOncePerTransaction() {
+        // Arrange
+        ChangeTracker tracker = new ChangeTracker(tableVersions, Runnable::run, Duration.ofHours(1));
+        List<Table> changed = new ArrayList<>();
+        tracker.onChange(changed::add);
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> synchronizations;
+        try {
+            // Act - a bulk chunk: many rows of a few tables
+            for (int i = 0; i < 1000; i++) {
+                tracker.changedAfterCommit(Table.STUDENTS);
+                tracker.changedAfterCommit(Table.ENROLLMENTS);
+            }
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertEquals(1, synchronizations.size());
+        verify(tableVersions, times(1)).bump(EnumSet.of(Table.STUDENTS, Table.ENROLLMENTS));
+        assertEquals(List.of(Table.STUDENTS, Table.ENROLLMENTS), changed);
+    }
+
+    @Test
+    void tag_DoesNotWaitForAnotherCallersRefresh() throws Exception {
+        // Arrange - the first read completes, the second one hangs in the database
+        ChangeTracker tracker = new ChangeTracker(tableVersions, Runnable::run, Duration.ZERO);
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(tableVersions.readAll())
+                .thenReturn(Map.of(Table.COURSES, 10L))
+                .thenAnswer(invocation -> {
+                    reading.countDown();
+                    release.await(10, TimeUnit.SECONDS);
+                    return Map.of(Table.COURSES, 11L);
+                });
+        tracker.tag(Table.COURSES);
+        CompletableFuture<String> refreshing = CompletableFuture.supplyAsync(() -> tracker.tag(Table.COURSES));
+        assertTrue(reading.await(10, TimeUnit.SECONDS));
+
+        // Act & Assert - answered from the current copy meanwhile
+        try {
+            assertEquals("t.10", CompletableFuture.supplyAsync(() -> tracker.tag(Table.COURSES))
+                    .get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+        }
+        assertEquals("t.11", refreshing.get(10, TimeUnit.SECONDS));
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.assignment.service;
 
+import com.example.assignment.dto.CoursePatch;
+import com.example.assignment.dto.SearchType;
 import com.example.assignment.entity.Course;
 import com.example.assignment.repository.CourseRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,6 +11,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.util.Arrays;
 import java.util.List;
@@ -23,6 +27,12 @@ class CourseServiceTest {
     @Mock
     private CourseRepository courseRepository;
 
+    @Mock
+    private ChangeTracker changeTracker;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CourseService courseService;
 
@@ -82,10 +92,38 @@ class CourseServiceTest {
 
     @Test
     void deleteCourse() {
-        doNothing().when(courseRepository).deleteById(1L);
+        when(courseRepository.removeById(1L)).thenReturn(1);
+        when(courseRepository.removeById(99L)).thenReturn(0);
+
+        assertTrue(courseService.deleteCourse(1L));
+        assertFalse(courseService.deleteCourse(99L));
+
+        verify(courseRepository, never()).findById(any());
+        verify(changeTracker, times(1)).changedAfterCommit(ChangeTracker.Table.COURSES);
+        verify(eventPublisher, times(1)).publishEvent(new SearchDocumentsRemovedEvent(SearchType.COURSE, List.of(1L)));
+    }
+
+    @Test
+    void patchCourse() {
+        when(courseRepository.patch(1L, "Software Design", null, 40, null)).thenReturn(1);
+
+        assertTrue(courseService.patchCourse(1L, new CoursePatch("Software Design", null, 40, null)));
+
+        verify(eventPublisher, times(1)).publishEvent(
+                new SearchFieldsChangedEvent(SearchType.COURSE, 1L, "Software Design", null, null));
+        verify(eventPublisher, times(1)).publishEvent(new SeatsFreedEvent(1L));
+    }
+
+    @Test
+    void patchCourse_StaleVersionOrMissing() {
+        when(courseRepository.patch(anyLong(), any(), any(), any(), eq(3L))).thenReturn(0);
+        when(courseRepository.existsById(1L)).thenReturn(true);
+        when(courseRepository.existsById(99L)).thenReturn(false);
 
-        courseService.deleteCourse(1L);
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> courseService.patchCourse(1L, new CoursePatch("Software Design", null, null, 3L)));
+        assertFalse(courseService.patchCourse(99L, new CoursePatch("Software Design", null, null, 3L)));
 
-        verify(courseRepository, times(1)).deleteById(1L);
+        verifyNoInteractions(changeTracker, eventPublisher);
     }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.example.assignment.service;
+
+import com.example.assignment.service.ChangeTracker.Table;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link TableVersions} for tests without a database: one instance's view, kept in memory.
+ */
+public class InMemoryTableVersions implements TableVersions {
+
+    private final Map<Table, Long> versions = new EnumMap<>(Table.class);
+
+    @Override
+    public synchronized Map<Table, Long> bump(Set<Table> tables) {
+        Map<Table, Long> bumped = new EnumMap<>(Table.class);
+        tables.forEach(table -> bumped.put(table, versions.merge(table, 1L, Long::sum)));
+        return bumped;
+    }
+
+    @Override
+    public synchronized Map<Table, Long> readAll() {
+        return new EnumMap<>(versions);
+    }
+
+    // A tracker publishing on the calling thread and re-reading the versions on every tag
+    public static ChangeTracker tracker() {
+        return new ChangeTracker(new InMemoryTableVersions(), Runnable::run, Duration.ZERO);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.assignment.service;
+
+import com.example.assignment.dto.SearchHit;
+import com.example.assignment.dto.SearchType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+class SearchIndexTest {
+
+    private SearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SearchIndex();
+        index.put(new SearchDocument(SearchType.STUDENT, 1L, "John Doe", "ST1001", List.of()));
+        index.put(new SearchDocument(SearchType.STUDENT, 2L, "Johanna Smithers", "ST1002", List.of()));
+        index.put(new SearchDocument(SearchType.TEACHER, 1L, "Dr. Smith", "T001", List.of("smith@school.edu")));
+        index.put(new SearchDocument(SearchType.COURSE, 1L, "Mathematics", "MATH101", List.of()));
+        index.put(new SearchDocument(SearchType.COURSE, 2L, "Blacksmithing", "ART200", List.of()));
+    }
+
+    @Test
+    void search_RanksWordPrefixesAboveInnerMatches() {
+        List<SearchHit> hits = index.search("smith", null, 10);
+
+        // Equal scores keep index order
+        assertThat(hits).extracting(SearchHit::type, SearchHit::id, SearchHit::score)
+                .containsExactly(
+                        tuple(SearchType.STUDENT, 2L, 12),
+                        tuple(SearchType.TEACHER, 1L, 12),
+                        tuple(SearchType.COURSE, 2L, 3));
+    }
+
+    @Test
+    void search_RanksWholeFieldAndFieldPrefixFirst() {
+        index.put(new SearchDocument(SearchType.COURSE, 3L, "Art", "ART100", List.of()));
+
+        assertThat(index.search("art", null, 10)).extracting(SearchHit::title, SearchHit::score)
+                .containsExactly(tuple("Art", 30), tuple("Blacksmithing", 12));
+        assertThat(index.search("art", null, 1)).extracting(SearchHit::title).containsExactly("Art");
+        assertThat(index.search("st1002", null, 10)).extracting(SearchHit::title).containsExactly("Johanna Smithers");
+    }
+
+    @Test
+    void search_RequiresEveryTermAndIgnoresCaseAndAccents() {
+        assertThat(index.search("JÖHN d", null, 10)).extracting(SearchHit::id).containsExactly(1L);
+        assertThat(index.search("jo sm", null, 10)).extracting(SearchHit::title).containsExactly("Johanna Smithers");
+        assertThat(index.search("john smith", null, 10)).isEmpty();
+    }
+
+    @Test
+    void search_ShortTermsMatchWordStartsOnly() {
+        assertThat(index.search("ma", null, 10)).extracting(SearchHit::title).containsExactly("Mathematics");
+        assertThat(index.search("at", null, 10)).isEmpty();
+        assertThat(index.search("them", null, 10)).extracting(SearchHit::title).containsExactly("Mathematics");
+        assertThat(index.search("m", null, 10)).isEmpty();
+    }
+
+    @Test
+    void search_FiltersByTypeAndLimits() {
+        assertThat(index.search("st10", SearchType.STUDENT, 10)).hasSize(2);
+        assertThat(index.search("st10", SearchType.STUDENT, 1)).extracting(SearchHit::id).containsExactly(1L);
+        assertThat(index.search("st10", SearchType.COURSE, 10)).isEmpty();
+    }
+
+    @Test
+    void putAndRemove_ReplaceDocumentsInPlace() {
+        index.put(new SearchDocument(SearchType.STUDENT, 1L, "Jonathan Doe", "ST1001", List.of()));
+        index.remove(SearchType.COURSE, 1L);
+
+        assertThat(index.search("jonathan", null, 10)).extracting(SearchHit::id).containsExactly(1L);
+        assertThat(index.search("john", null, 10)).isEmpty();
+        assertThat(index.search("math", null, 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void put_CompactsAfterManyReplacements() {
+        for (int i = 0; i < 5000; i++) {
+            index.put(new SearchDocument(SearchType.COURSE, 1L, "Mathematics " + i, "MATH101", List.of()));
+        }
+
+        assertThat(index.size()).isEqualTo(5);
+        assertThat(index.search("math", SearchType.COURSE, 10)).extracting(SearchHit::title)
+                .containsExactly("Mathematics 4999");
+    }
+}
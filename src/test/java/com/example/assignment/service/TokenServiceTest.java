@@ -0,0 +1,90 @@
+package com.example.assignment.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+
+    private TokenService tokenService;
+
+    private Authentication teacher;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = new TokenService(SECRET, Duration.ofMinutes(15), Clock.fixed(NOW, ZoneOffset.UTC));
+        teacher = UsernamePasswordAuthenticationToken.authenticated(
+                "teacher1", null, AuthorityUtils.createAuthorityList("ROLE_TEACHER"));
+    }
+
+    @Test
+    void verify_ValidToken_ReturnsUsernameAndRole() {
+        String token = tokenService.issue(teacher);
+
+        Optional<Authentication> verified = tokenService.verify(token);
+
+        assertTrue(verified.isPresent());
+        assertEquals("teacher1", verified.get().getName());
+        assertEquals("ROLE_TEACHER", verified.get().getAuthorities().iterator().next().getAuthority());
+        assertTrue(verified.get().isAuthenticated());
+    }
+
+    @Test
+    void verify_CarriesLinkedRecordIds() {
+        AccountUserDetails account = new AccountUserDetails("student1", "", true,
+                AuthorityUtils.createAuthorityList("ROLE_STUDENT"), 42L, null);
+        Authentication student = UsernamePasswordAuthenticationToken.authenticated(
+                account, null, account.getAuthorities());
+
+        Optional<Authentication> verified = tokenService.verify(tokenService.issue(student));
+
+        assertTrue(verified.isPresent());
+        AccountUserDetails principal = (AccountUserDetails) verified.get().getPrincipal();
+        assertEquals("student1", principal.getUsername());
+        assertEquals(42L, principal.getStudentId());
+        assertNull(principal.getTeacherId());
+    }
+
+    @Test
+    void verify_TamperedPayload_ReturnsEmpty() {
+        String token = tokenService.issue(teacher);
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("student1\nROLE_TEACHER\n9999999999".getBytes());
+
+        assertTrue(tokenService.verify(forgedPayload + token.substring(token.indexOf('.'))).isEmpty());
+        assertTrue(tokenService.verify("not-a-token").isEmpty());
+    }
+
+    @Test
+    void verify_ExpiredToken_ReturnsEmpty() {
+        String token = tokenService.issue(teacher);
+        TokenService later = new TokenService(SECRET, Duration.ofMinutes(15),
+                Clock.fixed(NOW.plus(Duration.ofMinutes(16)), ZoneOffset.UTC));
+
+        assertTrue(later.verify(token).isEmpty());
+    }
+
+    @Test
+    void verify_TokenSignedWithOtherKey_ReturnsEmpty() {
+        String otherSecret = Base64.getEncoder().encodeToString(new byte[]{
+                1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16,
+                17, 18, 19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31, 32});
+        TokenService other = new TokenService(otherSecret, Duration.ofMinutes(15), Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertTrue(tokenService.verify(other.issue(teacher)).isEmpty());
+    }
+}
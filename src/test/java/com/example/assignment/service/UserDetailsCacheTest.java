@@ -0,0 +1,64 @@
+package com.example.assignment.service;
+
+import com.example.assignment.dto.CacheRegionStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserDetailsCacheTest {
+
+    private UserDetailsCache userDetailsCache;
+
+    private UserDetails teacher;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsCache = new UserDetailsCache(100, Duration.ofMinutes(5));
+        teacher = User.withUsername("teacher1")
+                .password("{bcrypt}hash")
+                .authorities("ROLE_TEACHER")
+                .build();
+    }
+
+    @Test
+    void getUserFromCache_ReturnsCopyUnaffectedByCredentialErasure() {
+        userDetailsCache.putUserInCache(teacher);
+
+        User first = (User) userDetailsCache.getUserFromCache("teacher1");
+        first.eraseCredentials();
+        UserDetails second = userDetailsCache.getUserFromCache("teacher1");
+
+        assertNull(first.getPassword());
+        assertEquals("{bcrypt}hash", second.getPassword());
+        assertEquals("ROLE_TEACHER", second.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void removeUserFromCache_EvictsEntry() {
+        userDetailsCache.putUserInCache(teacher);
+
+        userDetailsCache.removeUserFromCache("teacher1");
+
+        assertNull(userDetailsCache.getUserFromCache("teacher1"));
+    }
+
+    @Test
+    void getStatistics_CountsHitsMissesAndPuts() {
+        userDetailsCache.getUserFromCache("teacher1");
+        userDetailsCache.putUserInCache(teacher);
+        userDetailsCache.getUserFromCache("teacher1");
+        userDetailsCache.getUserFromCache("teacher1");
+
+        CacheRegionStats stats = userDetailsCache.getStatistics();
+
+        assertEquals(2, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.puts());
+        assertEquals(2.0 / 3, stats.hitRatio(), 1e-9);
+    }
+}